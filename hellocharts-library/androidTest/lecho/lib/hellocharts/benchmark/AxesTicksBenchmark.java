@@ -0,0 +1,116 @@
+package lecho.lib.hellocharts.benchmark;
+
+import android.graphics.Canvas;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lecho.lib.hellocharts.model.Axis;
+import lecho.lib.hellocharts.model.Line;
+import lecho.lib.hellocharts.model.LineChartData;
+import lecho.lib.hellocharts.model.PointValue;
+import lecho.lib.hellocharts.model.SelectedValue;
+import lecho.lib.hellocharts.model.SelectedValue.SelectedValueType;
+import lecho.lib.hellocharts.model.Viewport;
+import lecho.lib.hellocharts.renderer.AxesRenderer;
+import lecho.lib.hellocharts.view.LineChartView;
+
+/**
+ * Measures time spent in AxesRenderer for frames that don't change viewport - static frames and frames that only
+ * change selection - for which auto-generated ticks are reused, and compares it with frames that alternate between
+ * two almost equal viewports, for which ticks are generated again although they are the same. Difference between
+ * them is the saving of memoized ticks.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AxesTicksBenchmark {
+    private static final int VALUES_NUMBER = 100;
+    private static final int RUNS = 201;
+    /**
+     * Viewport inset(fraction of its width) that changes ticks cache key but not generated ticks, viewport is inset
+     * and not offset because it is already equal to max viewport and would be constrained back.
+     */
+    private static final float VIEWPORT_NUDGE = 0.0001f;
+
+    @Test
+    public void compareStaticAndSelectionFramesWithRegeneratedTicks() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                runBenchmark();
+            }
+        });
+    }
+
+    private void runBenchmark() {
+        final LineChartView chart = createChart();
+        final AxesRenderer axesRenderer = chart.getAxesRenderer();
+        final Canvas canvas = Benchmarks.createCanvas();
+        final Viewport viewport = new Viewport(chart.getCurrentViewport());
+        final Viewport nudgedViewport = new Viewport(viewport);
+        nudgedViewport.inset(viewport.width() * VIEWPORT_NUDGE, 0);
+
+        final long staticMicros = Benchmarks.measureMedianMicros(new Runnable() {
+            @Override
+            public void run() {
+                drawAxes(axesRenderer, canvas);
+            }
+        }, RUNS);
+
+        final long selectionMicros = Benchmarks.measureMedianMicros(new Runnable() {
+            private int frame;
+
+            @Override
+            public void run() {
+                chart.selectValue(new SelectedValue(0, ++frame % VALUES_NUMBER, SelectedValueType.NONE));
+                drawAxes(axesRenderer, canvas);
+            }
+        }, RUNS);
+
+        final long regeneratedMicros = Benchmarks.measureMedianMicros(new Runnable() {
+            private int frame;
+
+            @Override
+            public void run() {
+                chart.setCurrentViewport(++frame % 2 == 0 ? viewport : nudgedViewport);
+                drawAxes(axesRenderer, canvas);
+            }
+        }, RUNS);
+
+        Benchmarks.log("axes frame | time [us]");
+        Benchmarks.log("static, memoized ticks | " + staticMicros);
+        Benchmarks.log("selection only, memoized ticks | " + selectionMicros);
+        Benchmarks.log("viewport nudged, regenerated ticks | " + regeneratedMicros);
+    }
+
+    private static void drawAxes(AxesRenderer axesRenderer, Canvas canvas) {
+        Benchmarks.clearCanvas(canvas);
+        axesRenderer.drawInBackground(canvas);
+        axesRenderer.drawInForeground(canvas);
+    }
+
+    private static LineChartView createChart() {
+        final LineChartView chart = new LineChartView(InstrumentationRegistry.getTargetContext());
+        final List<PointValue> values = new ArrayList<PointValue>(VALUES_NUMBER);
+        for (int i = 0; i < VALUES_NUMBER; ++i) {
+            values.add(new PointValue(i, (float) Math.sin(i / 10f) * 1000));
+        }
+        final LineChartData data = new LineChartData();
+        final List<Line> lines = new ArrayList<Line>();
+        lines.add(new Line(values));
+        data.setLines(lines);
+        data.setAxisXBottom(new Axis().setHasLines(true));
+        data.setAxisYLeft(new Axis().setHasLines(true));
+        chart.setLineChartData(data);
+
+        chart.measure(View.MeasureSpec.makeMeasureSpec(Benchmarks.CANVAS_WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(Benchmarks.CANVAS_HEIGHT, View.MeasureSpec.EXACTLY));
+        chart.layout(0, 0, Benchmarks.CANVAS_WIDTH, Benchmarks.CANVAS_HEIGHT);
+        return chart;
+    }
+}
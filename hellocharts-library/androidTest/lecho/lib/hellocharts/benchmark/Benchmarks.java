@@ -0,0 +1,73 @@
+package lecho.lib.hellocharts.benchmark;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.util.Log;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Helpers shared by benchmarks. Benchmarks run as instrumentation tests on device, results are written to logcat with
+ * {@link #TAG} because draw times depend on device and can't be asserted.
+ */
+final class Benchmarks {
+    static final String TAG = "HelloChartsBenchmark";
+    static final int CANVAS_WIDTH = 1080;
+    static final int CANVAS_HEIGHT = 720;
+    private static final int WARMUP_RUNS = 5;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Software canvas of typical chart size, charts render lines into software bitmaps so it matches what renderers
+     * do.
+     */
+    static Canvas createCanvas() {
+        return new Canvas(Bitmap.createBitmap(CANVAS_WIDTH, CANVAS_HEIGHT, Bitmap.Config.ARGB_8888));
+    }
+
+    static void clearCanvas(Canvas canvas) {
+        canvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+    }
+
+    /**
+     * Runs task a few times to warm up then returns median duration of given number of runs in microseconds.
+     */
+    static long measureMedianMicros(Runnable task, int runs) {
+        for (int i = 0; i < WARMUP_RUNS; ++i) {
+            task.run();
+        }
+        final long[] durations = new long[runs];
+        for (int i = 0; i < runs; ++i) {
+            final long start = System.nanoTime();
+            task.run();
+            durations[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(durations);
+        return durations[runs / 2] / 1000;
+    }
+
+    /**
+     * Returns raw coordinates [x0, y0, x1, y1, ...] of random walk line spanning canvas width.
+     */
+    static float[] generateRawPoints(int pointsNumber, long seed) {
+        final Random random = new Random(seed);
+        final float[] points = new float[pointsNumber * 2];
+        float y = CANVAS_HEIGHT / 2;
+        for (int i = 0; i < pointsNumber; ++i) {
+            y += (random.nextFloat() - 0.5f) * CANVAS_HEIGHT / 20;
+            y = Math.max(0, Math.min(y, CANVAS_HEIGHT));
+            points[i * 2] = (float) i * CANVAS_WIDTH / pointsNumber;
+            points[i * 2 + 1] = y;
+        }
+        return points;
+    }
+
+    static void log(String message) {
+        Log.i(TAG, message);
+    }
+}
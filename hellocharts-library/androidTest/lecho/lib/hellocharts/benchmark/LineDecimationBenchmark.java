@@ -0,0 +1,88 @@
+package lecho.lib.hellocharts.benchmark;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import lecho.lib.hellocharts.util.LineDecimator;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares path vertex counts and draw time of line paths built from all points and from points decimated with
+ * {@link LineDecimator} the same way LineChartRenderer does it(one bucket per pixel column).
+ */
+@RunWith(AndroidJUnit4.class)
+public class LineDecimationBenchmark {
+    private static final int[] POINTS_NUMBERS = new int[]{1000, 10000, 100000, 500000};
+    private static final float BUCKET_WIDTH = 1f;
+    private static final int RUNS = 15;
+
+    @Test
+    public void comparePathVerticesAndDrawTime() {
+        final Canvas canvas = Benchmarks.createCanvas();
+        final Paint paint = new Paint();
+        paint.setAntiAlias(true);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeCap(Paint.Cap.ROUND);
+        paint.setStrokeWidth(6);
+
+        Benchmarks.log("points | vertices raw | vertices decimated | draw raw [us] | draw decimated [us]");
+        for (int pointsNumber : POINTS_NUMBERS) {
+            final float[] points = Benchmarks.generateRawPoints(pointsNumber, pointsNumber);
+            final float[] decimated = new float[points.length];
+
+            final long rawMicros = Benchmarks.measureMedianMicros(
+                    new DrawPathTask(canvas, paint, points, pointsNumber, null), RUNS);
+            // Decimation is done for every path build so its cost is included in measured time.
+            final long decimatedMicros = Benchmarks.measureMedianMicros(
+                    new DrawPathTask(canvas, paint, points, pointsNumber, decimated), RUNS);
+            final int decimatedNumber = LineDecimator.decimate(points, pointsNumber, BUCKET_WIDTH, decimated);
+
+            Benchmarks.log(pointsNumber + " | " + pointsNumber + " | " + decimatedNumber + " | " + rawMicros
+                    + " | " + decimatedMicros);
+            assertTrue(decimatedNumber <= (Benchmarks.CANVAS_WIDTH + 1) * LineDecimator.MAX_POINTS_PER_BUCKET);
+        }
+    }
+
+    private static class DrawPathTask implements Runnable {
+        private final Canvas canvas;
+        private final Paint paint;
+        private final float[] points;
+        private final int pointsNumber;
+        /**
+         * Buffer for decimated points or null if path should be built from all points.
+         */
+        private final float[] decimated;
+        private final Path path = new Path();
+
+        DrawPathTask(Canvas canvas, Paint paint, float[] points, int pointsNumber, float[] decimated) {
+            this.canvas = canvas;
+            this.paint = paint;
+            this.points = points;
+            this.pointsNumber = pointsNumber;
+            this.decimated = decimated;
+        }
+
+        @Override
+        public void run() {
+            float[] pathPoints = points;
+            int pathPointsNumber = pointsNumber;
+            if (null != decimated) {
+                pathPointsNumber = LineDecimator.decimate(points, pointsNumber, BUCKET_WIDTH, decimated);
+                pathPoints = decimated;
+            }
+            path.reset();
+            path.moveTo(pathPoints[0], pathPoints[1]);
+            for (int i = 1; i < pathPointsNumber; ++i) {
+                path.lineTo(pathPoints[i * 2], pathPoints[i * 2 + 1]);
+            }
+            Benchmarks.clearCanvas(canvas);
+            canvas.drawPath(path, paint);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package lecho.lib.hellocharts.benchmark;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares drawing plain lines as single path with drawing them as segments with
+ * {@link Canvas#drawLines(float[], int, int, Paint)} for growing number of segments and logs the crossover point -
+ * the smallest number of segments for which segments are faster. Paint matches the one LineChartRenderer uses for
+ * lines.
+ */
+@RunWith(AndroidJUnit4.class)
+public class LineSegmentsBenchmark {
+    private static final int[] SEGMENTS_NUMBERS = new int[]{1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 4096, 16384};
+    private static final int RUNS = 31;
+
+    @Test
+    public void findPathAndSegmentsCrossover() {
+        final Canvas canvas = Benchmarks.createCanvas();
+        final Paint paint = new Paint();
+        paint.setAntiAlias(true);
+        paint.setStyle(Paint.Style.STROKE);
+        paint.setStrokeCap(Paint.Cap.ROUND);
+        paint.setStrokeWidth(6);
+
+        int crossover = -1;
+        Benchmarks.log("segments | path [us] | drawLines [us]");
+        for (int segmentsNumber : SEGMENTS_NUMBERS) {
+            final int pointsNumber = segmentsNumber + 1;
+            final float[] points = Benchmarks.generateRawPoints(pointsNumber, pointsNumber);
+
+            final long pathMicros = Benchmarks.measureMedianMicros(new DrawPathTask(canvas, paint, points,
+                    pointsNumber), RUNS);
+            final long segmentsMicros = Benchmarks.measureMedianMicros(new DrawSegmentsTask(canvas, paint, points,
+                    pointsNumber), RUNS);
+
+            Benchmarks.log(segmentsNumber + " | " + pathMicros + " | " + segmentsMicros);
+            if (crossover < 0 && segmentsMicros < pathMicros) {
+                crossover = segmentsNumber;
+            }
+        }
+        Benchmarks.log("drawLines is faster from " + (crossover < 0 ? "none of measured" : crossover) + " segments");
+    }
+
+    private static class DrawPathTask implements Runnable {
+        private final Canvas canvas;
+        private final Paint paint;
+        private final float[] points;
+        private final int pointsNumber;
+        private final Path path = new Path();
+
+        DrawPathTask(Canvas canvas, Paint paint, float[] points, int pointsNumber) {
+            this.canvas = canvas;
+            this.paint = paint;
+            this.points = points;
+            this.pointsNumber = pointsNumber;
+        }
+
+        @Override
+        public void run() {
+            path.reset();
+            path.moveTo(points[0], points[1]);
+            for (int i = 1; i < pointsNumber; ++i) {
+                path.lineTo(points[i * 2], points[i * 2 + 1]);
+            }
+            Benchmarks.clearCanvas(canvas);
+            canvas.drawPath(path, paint);
+        }
+    }
+
+    private static class DrawSegmentsTask implements Runnable {
+        private final Canvas canvas;
+        private final Paint paint;
+        private final float[] points;
+        private final int pointsNumber;
+        private final float[] segments;
+
+        DrawSegmentsTask(Canvas canvas, Paint paint, float[] points, int pointsNumber) {
+            this.canvas = canvas;
+            this.paint = paint;
+            this.points = points;
+            this.pointsNumber = pointsNumber;
+            this.segments = new float[(pointsNumber - 1) * 4];
+        }
+
+        @Override
+        public void run() {
+            // Segments buffer is filled for every frame like in LineChartRenderer.
+            for (int i = 1; i < pointsNumber; ++i) {
+                final int offset = (i - 1) * 4;
+                segments[offset] = points[(i - 1) * 2];
+                segments[offset + 1] = points[(i - 1) * 2 + 1];
+                segments[offset + 2] = points[i * 2];
+                segments[offset + 3] = points[i * 2 + 1];
+            }
+            Benchmarks.clearCanvas(canvas);
+            canvas.drawLines(segments, 0, segments.length, paint);
+        }
+    }
+}
@@ -55,6 +55,7 @@ public class PieChartRotationAnimatorV14 implements PieChartRotationAnimator, An
     @Override
     public void onAnimationEnd(Animator animation) {
         chart.setChartRotation((int) targetRotation, false);
+        chart.setChartRotationInProgress(false);
         animationListener.onAnimationFinished();
     }
 
@@ -64,6 +65,7 @@ public class PieChartRotationAnimatorV14 implements PieChartRotationAnimator, An
 
     @Override
     public void onAnimationStart(Animator animation) {
+        chart.setChartRotationInProgress(true);
         animationListener.onAnimationStarted();
     }
 
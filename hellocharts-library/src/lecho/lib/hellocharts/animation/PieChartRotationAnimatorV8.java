@@ -27,6 +27,7 @@ public class PieChartRotationAnimatorV8 implements PieChartRotationAnimator {
                 isAnimationStarted = false;
                 handler.removeCallbacks(runnable);
                 chart.setChartRotation((int) targetRotation, false);
+                chart.setChartRotationInProgress(false);
                 animationListener.onAnimationFinished();
                 return;
             }
@@ -53,6 +54,7 @@ public class PieChartRotationAnimatorV8 implements PieChartRotationAnimator {
         this.startRotation = (startRotation % 360 + 360) % 360;
         this.targetRotation = (targetRotation % 360 + 360) % 360;
         isAnimationStarted = true;
+        chart.setChartRotationInProgress(true);
         animationListener.onAnimationStarted();
         start = SystemClock.uptimeMillis();
         handler.post(runnable);
@@ -63,6 +65,7 @@ public class PieChartRotationAnimatorV8 implements PieChartRotationAnimator {
         isAnimationStarted = false;
         handler.removeCallbacks(runnable);
         chart.setChartRotation((int) targetRotation, false);
+        chart.setChartRotationInProgress(false);
         animationListener.onAnimationFinished();
     }
 
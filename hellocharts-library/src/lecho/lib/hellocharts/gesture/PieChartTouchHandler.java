@@ -29,6 +29,7 @@ public class PieChartTouchHandler extends ChartTouchHandler {
     protected PieChartView pieChart;
 
     private boolean isRotationEnabled = true;
+    private boolean isFlingInProgress;
 
     public PieChartTouchHandler(Context context, PieChartView chart) {
         super(context, chart);
@@ -47,6 +48,9 @@ public class PieChartTouchHandler extends ChartTouchHandler {
         if (scroller.computeScrollOffset()) {
             pieChart.setChartRotation(scroller.getCurrY(), false);
             // pieChart.setChartRotation() will invalidate view so no need to return true;
+        } else if (isFlingInProgress) {
+            isFlingInProgress = false;
+            pieChart.setChartRotationInProgress(false);
         }
         return false;
     }
@@ -58,6 +62,12 @@ public class PieChartTouchHandler extends ChartTouchHandler {
         if (isRotationEnabled) {
             needInvalidate = gestureDetector.onTouchEvent(event) || needInvalidate;
         }
+
+        final int action = event.getAction();
+        if ((MotionEvent.ACTION_UP == action || MotionEvent.ACTION_CANCEL == action) && !isFlingInProgress) {
+            // Rotation gesture ended without fling.
+            pieChart.setChartRotationInProgress(false);
+        }
         return needInvalidate;
     }
 
@@ -83,6 +93,7 @@ public class PieChartTouchHandler extends ChartTouchHandler {
         public boolean onDown(MotionEvent e) {
             if (isRotationEnabled) {
                 scroller.abortAnimation();
+                isFlingInProgress = false;
                 return true;
             }
 
@@ -104,6 +115,7 @@ public class PieChartTouchHandler extends ChartTouchHandler {
                 final float centerY = circleOval.centerY();
                 float scrollTheta = vectorToScalarScroll(distanceX, distanceY, e2.getX() - centerX, e2.getY() -
                         centerY);
+                pieChart.setChartRotationInProgress(true);
                 pieChart.setChartRotation(pieChart.getChartRotation() - (int) scrollTheta / FLING_VELOCITY_DOWNSCALE,
                         false);
                 return true;
@@ -124,6 +136,8 @@ public class PieChartTouchHandler extends ChartTouchHandler {
                 scroller.abortAnimation();
                 scroller.fling(0, (int) pieChart.getChartRotation(), 0, (int) scrollTheta / FLING_VELOCITY_DOWNSCALE,
                         0, 0, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                isFlingInProgress = true;
+                pieChart.setChartRotationInProgress(true);
                 return true;
             }
 
@@ -0,0 +1,81 @@
+package lecho.lib.hellocharts.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Slice that replaces many small slices of PieChart, its value is sum of absolute values of its members. Members are
+ * kept so they can be shown when aggregated slice is selected, see
+ * {@link PieChartData#setMinSliceAngle(float)} and {@link PieChartData#setMaxSlicesCount(int)}.
+ */
+public class AggregatedSliceValue extends SliceValue {
+    private List<SliceValue> members;
+
+    public AggregatedSliceValue(List<SliceValue> members, int color) {
+        this.members = members;
+        setColor(color);
+        setValue(calculateSum());
+    }
+
+    public AggregatedSliceValue(AggregatedSliceValue sliceValue) {
+        super(sliceValue);
+        this.members = new ArrayList<SliceValue>(sliceValue.members.size());
+        for (SliceValue member : sliceValue.members) {
+            this.members.add(new SliceValue(member));
+        }
+    }
+
+    /**
+     * Members are animated and this slice value follows sum of their values.
+     */
+    @Override
+    public void update(float scale) {
+        for (SliceValue member : members) {
+            member.update(scale);
+        }
+        setValue(calculateSum());
+    }
+
+    @Override
+    public void finish() {
+        for (SliceValue member : members) {
+            member.finish();
+        }
+        setValue(calculateSum());
+    }
+
+    /**
+     * Returns slices aggregated into this slice in their original order.
+     */
+    public List<SliceValue> getMembers() {
+        return Collections.unmodifiableList(members);
+    }
+
+    private float calculateSum() {
+        float sum = 0;
+        for (SliceValue member : members) {
+            sum += Math.abs(member.getValue());
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "AggregatedSliceValue [value=" + getValue() + ", members=" + members.size() + "]";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) return false;
+
+        AggregatedSliceValue that = (AggregatedSliceValue) o;
+
+        return members.equals(that.members);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + members.hashCode();
+    }
+}
@@ -18,6 +18,7 @@ public class BubbleChartData extends AbstractChartData {
     private boolean hasLabelsOnlyForSelected = false;
     private int minBubbleRadius = DEFAULT_MIN_BUBBLE_RADIUS_DP;
     private float bubbleScale = DEFAULT_BUBBLE_SCALE;
+    private int clusterSize = 0;
     // TODO: consider Collections.emptyList()
     private List<BubbleValue> values = new ArrayList<BubbleValue>();
 
@@ -38,6 +39,7 @@ public class BubbleChartData extends AbstractChartData {
         this.hasLabelsOnlyForSelected = data.hasLabelsOnlyForSelected;
         this.minBubbleRadius = data.minBubbleRadius;
         this.bubbleScale = data.bubbleScale;
+        this.clusterSize = data.clusterSize;
 
         for (BubbleValue bubbleValue : data.getValues()) {
             this.values.add(new BubbleValue(bubbleValue));
@@ -149,6 +151,27 @@ public class BubbleChartData extends AbstractChartData {
         this.bubbleScale = bubbleScale;
     }
 
+    /**
+     * @see #setClusterSize(int)
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    /**
+     * Set cluster size in dp to enable level-of-detail clustering. Bubbles falling into the same cluster cell(at least
+     * clusterSize x clusterSize dp at current zoom) are drawn as one circle bubble with summed z value, placed at z
+     * weighted center and colored like its biggest member. Zooming in reveals individual bubbles. Clusters don't have
+     * labels. Useful for charts with many thousands of bubbles, default 0 which means clustering is disabled.
+     */
+    public BubbleChartData setClusterSize(int clusterSize) {
+        if (clusterSize < 0) {
+            throw new IllegalArgumentException("Cluster size must not be negative: " + clusterSize);
+        }
+        this.clusterSize = clusterSize;
+        return this;
+    }
+
     public BubbleChartValueFormatter getFormatter() {
         return formatter;
     }
@@ -0,0 +1,24 @@
+package lecho.lib.hellocharts.model;
+
+/**
+ * Defines how adjacent columns are merged when column chart has more columns than pixels, see
+ * {@link ColumnChartData#setAggregation(ColumnAggregation)}.
+ */
+public enum ColumnAggregation {
+    /**
+     * Columns are never merged.
+     */
+    NONE,
+    /**
+     * Merged subcolumn has value with the biggest distance from base value, so peaks stay visible.
+     */
+    MAX,
+    /**
+     * Merged subcolumn has sum of values.
+     */
+    SUM,
+    /**
+     * Merged subcolumn has mean of values.
+     */
+    MEAN
+}
@@ -16,6 +16,7 @@ public class ColumnChartData extends AbstractChartData {
     private float baseValue = DEFAULT_BASE_VALUE;
     private List<Column> columns = new ArrayList<Column>();
     private boolean isStacked = false;
+    private ColumnAggregation aggregation = ColumnAggregation.NONE;
 
     public ColumnChartData() {
     }
@@ -31,6 +32,7 @@ public class ColumnChartData extends AbstractChartData {
         super(data);
         this.isStacked = data.isStacked;
         this.fillRatio = data.fillRatio;
+        this.aggregation = data.aggregation;
 
         for (Column column : data.columns) {
             this.columns.add(new Column(column));
@@ -119,6 +121,27 @@ public class ColumnChartData extends AbstractChartData {
         return this;
     }
 
+    /**
+     * @see #setAggregation(ColumnAggregation)
+     */
+    public ColumnAggregation getAggregation() {
+        return aggregation;
+    }
+
+    /**
+     * Set how adjacent columns should be merged when there are more visible columns than pixels, by default
+     * {@link ColumnAggregation#NONE}. When enabled renderer draws bins about one pixel wide instead of every column,
+     * bins get narrower as chart is zoomed in until every column is drawn separately. Touch and highlight always work
+     * on original columns.
+     */
+    public ColumnChartData setAggregation(ColumnAggregation aggregation) {
+        if (null == aggregation) {
+            aggregation = ColumnAggregation.NONE;
+        }
+        this.aggregation = aggregation;
+        return this;
+    }
+
     /**
      * @see #setBaseValue(float)
      */
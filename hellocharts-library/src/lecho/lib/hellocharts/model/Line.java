@@ -39,7 +39,10 @@ public class Line {
     private boolean hasLabelOnlyForLastPoint = false;
     private boolean isCubic = false;
     private boolean isSquare = false;
+    private boolean isMonotoneCubic = false;
     private boolean isFilled = false;
+    private boolean isDecimated = false;
+    private boolean isSortedByX = false;
     private boolean isUseFirstPoint = true;
     private boolean isUseLastPoint = false;
     private boolean visibleLines = true;
@@ -47,6 +50,10 @@ public class Line {
     private PathEffect pathEffect;
     private LineChartValueFormatter formatter = new SimpleLineChartValueFormatter();
     private List<PointValue> values = new ArrayList<PointValue>();
+    /**
+     * Columnar storage, if not null it is used instead of {@link #values}.
+     */
+    private PointValueArray valueArray;
     private boolean isGradient = true;
     private boolean usePointShadow = false;
     private float chartWidth = 0;
@@ -59,6 +66,10 @@ public class Line {
         setValues(values);
     }
 
+    public Line(PointValueArray valueArray) {
+        setValueArray(valueArray);
+    }
+
     public Line(Line line) {
         this.color = line.color;
         this.pointColor = line.pointColor;
@@ -72,7 +83,10 @@ public class Line {
         this.hasLabelsOnlyForSelected = line.hasLabelsOnlyForSelected;
         this.isSquare = line.isSquare;
         this.isCubic = line.isCubic;
+        this.isMonotoneCubic = line.isMonotoneCubic;
         this.isFilled = line.isFilled;
+        this.isDecimated = line.isDecimated;
+        this.isSortedByX = line.isSortedByX;
         this.isUseFirstPoint = line.isUseFirstPoint;
         this.isUseLastPoint = line.isUseLastPoint;
         this.shape = line.shape;
@@ -84,28 +98,50 @@ public class Line {
         this.usePointShadow = line.usePointShadow;
         this.chartWidth = line.chartWidth;
 
-        for (PointValue pointValue : line.values) {
-            this.values.add(new PointValue(pointValue));
+        if (line.valueArray instanceof PointValueRingBuffer) {
+            this.valueArray = new PointValueRingBuffer((PointValueRingBuffer) line.valueArray);
+        } else if (null != line.valueArray) {
+            this.valueArray = new PointValueArray(line.valueArray);
+        } else {
+            for (PointValue pointValue : line.values) {
+                this.values.add(new PointValue(pointValue));
+            }
         }
     }
 
     public void update(float scale) {
+        if (null != valueArray) {
+            valueArray.update(scale);
+            return;
+        }
         for (PointValue value : values) {
             value.update(scale);
         }
     }
 
     public void finish() {
+        if (null != valueArray) {
+            valueArray.finish();
+            return;
+        }
         for (PointValue value : values) {
             value.finish();
         }
     }
 
+    /**
+     * Returns line values. If line uses {@link PointValueArray} returned list is read only view of that array, see
+     * {@link PointValueArray#asList()}.
+     */
     public List<PointValue> getValues() {
+        if (null != valueArray) {
+            return valueArray.asList();
+        }
         return this.values;
     }
 
     public void setValues(List<PointValue> values) {
+        this.valueArray = null;
         if (null == values) {
             this.values = new ArrayList<PointValue>();
         } else {
@@ -113,6 +149,53 @@ public class Line {
         }
     }
 
+    /**
+     * @see #setValueArray(PointValueArray)
+     */
+    public PointValueArray getValueArray() {
+        return valueArray;
+    }
+
+    /**
+     * Set columnar storage for line values, use it for big lines to avoid creating PointValue object for every point.
+     * Values set by {@link #setValues(List)} are discarded. Pass null to switch back to list of PointValues.
+     */
+    public Line setValueArray(PointValueArray valueArray) {
+        this.valueArray = valueArray;
+        this.values = new ArrayList<PointValue>();
+        return this;
+    }
+
+    /**
+     * Returns number of values of this line, works for both list and columnar storage.
+     */
+    public int getValuesCount() {
+        if (null != valueArray) {
+            return valueArray.size();
+        }
+        return values.size();
+    }
+
+    /**
+     * Returns X of value at given index without creating PointValue object for columnar storage.
+     */
+    public float getValueX(int index) {
+        if (null != valueArray) {
+            return valueArray.getX(index);
+        }
+        return values.get(index).getX();
+    }
+
+    /**
+     * Returns Y of value at given index without creating PointValue object for columnar storage.
+     */
+    public float getValueY(int index) {
+        if (null != valueArray) {
+            return valueArray.getY(index);
+        }
+        return values.get(index).getY();
+    }
+
     public float getChartWidth() {
         return chartWidth;
     }
@@ -301,6 +384,22 @@ public class Line {
         return this;
     }
 
+    /**
+     * @see #setMonotoneCubic(boolean)
+     */
+    public boolean isMonotoneCubic() {
+        return isMonotoneCubic;
+    }
+
+    /**
+     * Set true to draw cubic line as monotone cubic spline(Fritsch-Carlson), curve doesn't overshoot values so it never
+     * goes above local maximum or below local minimum. Works only for cubic lines with values sorted by X.
+     */
+    public Line setMonotoneCubic(boolean isMonotoneCubic) {
+        this.isMonotoneCubic = isMonotoneCubic;
+        return this;
+    }
+
     public boolean isSquare() {
         return isSquare;
     }
@@ -321,6 +420,40 @@ public class Line {
         return this;
     }
 
+    /**
+     * @see #setDecimated(boolean)
+     */
+    public boolean isDecimated() {
+        return isDecimated;
+    }
+
+    /**
+     * Set true if line has much more points than chart has horizontal pixels. Before building path renderer will
+     * keep only first, lowest, highest and last point for every pixel column, peaks stay visible but drawing is much
+     * faster. Works best for lines sorted by X.
+     */
+    public Line setDecimated(boolean isDecimated) {
+        this.isDecimated = isDecimated;
+        return this;
+    }
+
+    /**
+     * @see #setSortedByX(boolean)
+     */
+    public boolean isSortedByX() {
+        return isSortedByX;
+    }
+
+    /**
+     * Set true if values of this line are sorted ascending by X. Renderer will then use binary search to find values
+     * visible in current viewport and will draw and check touch only for them(plus one value on each side), that makes
+     * drawing of zoomed big lines much faster. Note: results are undefined if values are not really sorted.
+     */
+    public Line setSortedByX(boolean isSortedByX) {
+        this.isSortedByX = isSortedByX;
+        return this;
+    }
+
     public boolean isUseFirstPoint() { return  isUseFirstPoint; }
 
     public Line setUseFirstPoint(boolean isUseFirstPoint) {
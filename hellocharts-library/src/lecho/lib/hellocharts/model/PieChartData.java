@@ -4,6 +4,7 @@ import android.graphics.Color;
 import android.graphics.Typeface;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import lecho.lib.hellocharts.formatter.PieChartValueFormatter;
@@ -18,6 +19,7 @@ public class PieChartData extends AbstractChartData {
     public static final int DEFAULT_CENTER_TEXT1_SIZE_SP = 42;
     public static final int DEFAULT_CENTER_TEXT2_SIZE_SP = 16;
     public static final float DEFAULT_CENTER_CIRCLE_SCALE = 0.6f;
+    public static final int DEFAULT_AGGREGATED_SLICE_COLOR = Color.GRAY;
     private static final int DEFAULT_SLICE_SPACING_DP = 2;
     private int centerText1FontSize = DEFAULT_CENTER_TEXT1_SIZE_SP;
     private int centerText2FontSize = DEFAULT_CENTER_TEXT2_SIZE_SP;
@@ -35,8 +37,20 @@ public class PieChartData extends AbstractChartData {
     private int centerText2Color = Color.BLACK;
     private Typeface centerText2Typeface;
     private String centerText2;
+    private float minSliceAngle = 0;
+    private int maxSlicesCount = 0;
+    private int aggregatedSliceColor = DEFAULT_AGGREGATED_SLICE_COLOR;
+    private String aggregatedSliceLabel;
 
-    private List<SliceValue> values = new ArrayList<SliceValue>();
+    /**
+     * Slices as set by {@link #setValues(List)}, aggregation is always done from this list so it can be changed or
+     * reverted without affecting order of slices.
+     */
+    private List<SliceValue> sourceValues = new ArrayList<SliceValue>();
+    /**
+     * Slices drawn by chart, the same list as sourceValues if no slices are aggregated.
+     */
+    private List<SliceValue> values = sourceValues;
 
     public PieChartData() {
         setAxisXBottom(null);
@@ -71,9 +85,15 @@ public class PieChartData extends AbstractChartData {
         this.centerText2Typeface = data.centerText2Typeface;
         this.centerText2 = data.centerText2;
 
-        for (SliceValue sliceValue : data.values) {
-            this.values.add(new SliceValue(sliceValue));
+        this.minSliceAngle = data.minSliceAngle;
+        this.maxSlicesCount = data.maxSlicesCount;
+        this.aggregatedSliceColor = data.aggregatedSliceColor;
+        this.aggregatedSliceLabel = data.aggregatedSliceLabel;
+
+        for (SliceValue sliceValue : data.sourceValues) {
+            this.sourceValues.add(new SliceValue(sliceValue));
         }
+        this.values = aggregateSlices(sourceValues);
     }
 
     public static PieChartData generateDummyData() {
@@ -118,16 +138,35 @@ public class PieChartData extends AbstractChartData {
         super.setAxisYLeft(null);
     }
 
+    /**
+     * Returns slices drawn by chart. If small slices are aggregated(see {@link #setMinSliceAngle(float)} and
+     * {@link #setMaxSlicesCount(int)}) this is aggregated view - kept slices in their original order followed by
+     * {@link AggregatedSliceValue}, selected value indexes refer to this list. Otherwise it is the list given to
+     * {@link #setValues(List)}.
+     */
     public List<SliceValue> getValues() {
         return values;
     }
 
+    /**
+     * Returns slices as set by {@link #setValues(List)}, without aggregation.
+     */
+    public List<SliceValue> getSourceValues() {
+        return sourceValues;
+    }
+
+    /**
+     * Set slices of this chart. If {@link #setMinSliceAngle(float)} or {@link #setMaxSlicesCount(int)} is set small
+     * slices are collapsed into one {@link AggregatedSliceValue} appended at the end of {@link #getValues()}, given
+     * list is not modified.
+     */
     public PieChartData setValues(List<SliceValue> values) {
         if (null == values) {
-            this.values = new ArrayList<SliceValue>();
+            this.sourceValues = new ArrayList<SliceValue>();
         } else {
-            this.values = values;
+            this.sourceValues = values;
         }
+        this.values = aggregateSlices(sourceValues);
         return this;
     }
 
@@ -287,6 +326,132 @@ public class PieChartData extends AbstractChartData {
         return this;
     }
 
+    /**
+     * @see #setMinSliceAngle(float)
+     */
+    public float getMinSliceAngle() {
+        return minSliceAngle;
+    }
+
+    /**
+     * Set minimal angle(in degrees) of slice, smaller slices are collapsed into one {@link AggregatedSliceValue}. At
+     * least two slices have to be smaller for aggregation to happen. Slices are aggregated from values given to
+     * {@link #setValues(List)} when this value or values are set. By default 0 which means that aggregation by angle
+     * is disabled.
+     */
+    public PieChartData setMinSliceAngle(float minSliceAngle) {
+        if (minSliceAngle < 0 || minSliceAngle > 360) {
+            throw new IllegalArgumentException("Min slice angle must be between 0 and 360: " + minSliceAngle);
+        }
+        this.minSliceAngle = minSliceAngle;
+        this.values = aggregateSlices(sourceValues);
+        return this;
+    }
+
+    /**
+     * @see #setMaxSlicesCount(int)
+     */
+    public int getMaxSlicesCount() {
+        return maxSlicesCount;
+    }
+
+    /**
+     * Set how many biggest slices should be kept, other slices are collapsed into one {@link AggregatedSliceValue}
+     * so chart has at most maxSlicesCount + 1 slices. Kept slices preserve their order. By default 0 which means that
+     * number of slices is not limited.
+     */
+    public PieChartData setMaxSlicesCount(int maxSlicesCount) {
+        if (maxSlicesCount < 0) {
+            throw new IllegalArgumentException("Max slices count must not be negative: " + maxSlicesCount);
+        }
+        this.maxSlicesCount = maxSlicesCount;
+        this.values = aggregateSlices(sourceValues);
+        return this;
+    }
+
+    public int getAggregatedSliceColor() {
+        return aggregatedSliceColor;
+    }
+
+    public PieChartData setAggregatedSliceColor(int aggregatedSliceColor) {
+        this.aggregatedSliceColor = aggregatedSliceColor;
+        this.values = aggregateSlices(sourceValues);
+        return this;
+    }
+
+    public String getAggregatedSliceLabel() {
+        return aggregatedSliceLabel;
+    }
+
+    /**
+     * Set custom label of aggregated slice(for example "Other"), if null value of aggregated slice will be formatted.
+     */
+    public PieChartData setAggregatedSliceLabel(String aggregatedSliceLabel) {
+        this.aggregatedSliceLabel = aggregatedSliceLabel;
+        this.values = aggregateSlices(sourceValues);
+        return this;
+    }
+
+    /**
+     * Collapses slices smaller than min slice angle or not among max slices count biggest slices into one aggregated
+     * slice. Returns given list if nothing has to be changed, otherwise new list so source slices are not modified.
+     */
+    private List<SliceValue> aggregateSlices(List<SliceValue> slices) {
+        final int size = slices.size();
+        if (size < 2 || (minSliceAngle <= 0 && maxSlicesCount <= 0)) {
+            return slices;
+        }
+
+        float sum = 0;
+        final float[] absValues = new float[size];
+        for (int i = 0; i < size; ++i) {
+            absValues[i] = Math.abs(slices.get(i).getValue());
+            sum += absValues[i];
+        }
+        final float minValue = sum * minSliceAngle / 360f;
+
+        // Slices equal to the smallest kept value are kept in order until max slices count is reached.
+        float minKeptValue = -1;
+        int equalKeptCount = size;
+        if (maxSlicesCount > 0 && size > maxSlicesCount) {
+            final float[] sortedValues = Arrays.copyOf(absValues, size);
+            Arrays.sort(sortedValues);
+            minKeptValue = sortedValues[size - maxSlicesCount];
+            equalKeptCount = maxSlicesCount;
+            for (float value : sortedValues) {
+                if (value > minKeptValue) {
+                    --equalKeptCount;
+                }
+            }
+        }
+
+        final List<SliceValue> keptSlices = new ArrayList<SliceValue>();
+        final List<SliceValue> members = new ArrayList<SliceValue>();
+        for (int i = 0; i < size; ++i) {
+            final float value = absValues[i];
+            boolean isKept = value >= minValue && value >= minKeptValue;
+            if (isKept && value == minKeptValue) {
+                isKept = equalKeptCount > 0;
+                --equalKeptCount;
+            }
+            if (isKept) {
+                keptSlices.add(slices.get(i));
+            } else {
+                members.add(slices.get(i));
+            }
+        }
+
+        if (members.size() < 2) {
+            return slices;
+        }
+        final AggregatedSliceValue aggregatedSlice = new AggregatedSliceValue(members, aggregatedSliceColor);
+        if (null != aggregatedSliceLabel) {
+            aggregatedSlice.setLabel(aggregatedSliceLabel);
+        }
+        keptSlices.add(aggregatedSlice);
+        return keptSlices;
+    }
+
     public PieChartValueFormatter getFormatter() {
         return formatter;
     }
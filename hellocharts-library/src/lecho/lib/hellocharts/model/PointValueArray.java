@@ -0,0 +1,290 @@
+package lecho.lib.hellocharts.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import lecho.lib.hellocharts.view.Chart;
+
+/**
+ * Columnar storage for line values. Coordinates are kept in parallel float arrays instead of list of
+ * {@link PointValue} objects so big lines don't create per point objects. Arrays for animation targets are allocated
+ * only when {@link #setTarget(int, float, float)} is called and released when animation finish.
+ */
+public class PointValueArray {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    protected float[] x;
+    protected float[] y;
+    protected int size;
+
+    // Animation arrays, null when values are not animated.
+    protected float[] originX;
+    protected float[] originY;
+    protected float[] diffX;
+    protected float[] diffY;
+
+    // Cached extremes of all values, see calculateBounds().
+    protected float minX;
+    protected float maxX;
+    protected float minY;
+    protected float maxY;
+    protected boolean isBoundsDirty = true;
+
+    /**
+     * Incremented every time values change, renderers use it to invalidate their caches.
+     */
+    protected int version;
+
+    private List<PointValue> listView;
+
+    public PointValueArray() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PointValueArray(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+    }
+
+    /**
+     * Creates array with copy of given coordinates, both arrays should have the same length.
+     */
+    public PointValueArray(float[] x, float[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("X and Y arrays must have the same length");
+        }
+        this.x = Arrays.copyOf(x, x.length);
+        this.y = Arrays.copyOf(y, y.length);
+        this.size = x.length;
+    }
+
+    /**
+     * Copy constructor for deep copy, animation targets are not copied.
+     */
+    public PointValueArray(PointValueArray valueArray) {
+        this(valueArray.size);
+        for (int i = 0; i < valueArray.size; ++i) {
+            add(valueArray.getX(i), valueArray.getY(i));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public float getX(int index) {
+        return x[toArrayIndex(index)];
+    }
+
+    public float getY(int index) {
+        return y[toArrayIndex(index)];
+    }
+
+    public PointValueArray add(float valueX, float valueY) {
+        ensureCapacity(size + 1);
+        store(size, valueX, valueY);
+        ++size;
+        ++version;
+        if (!isBoundsDirty) {
+            // Extremes can be updated incrementally for appended value.
+            includeInBounds(valueX, valueY);
+        }
+        return this;
+    }
+
+    public PointValueArray set(int index, float valueX, float valueY) {
+        checkIndex(index);
+        store(index, valueX, valueY);
+        isBoundsDirty = true;
+        ++version;
+        return this;
+    }
+
+    /**
+     * Set target values that should be reached when data animation finish then call {@link Chart#startDataAnimation()}
+     */
+    public PointValueArray setTarget(int index, float targetX, float targetY) {
+        checkIndex(index);
+        if (null == diffX) {
+            allocateAnimationArrays();
+        }
+        final int arrayIndex = toArrayIndex(index);
+        originX[arrayIndex] = x[arrayIndex];
+        originY[arrayIndex] = y[arrayIndex];
+        diffX[arrayIndex] = targetX - x[arrayIndex];
+        diffY[arrayIndex] = targetY - y[arrayIndex];
+        return this;
+    }
+
+    public void update(float scale) {
+        if (null == diffX) {
+            return;
+        }
+        for (int i = 0; i < size; ++i) {
+            final int arrayIndex = toArrayIndex(i);
+            x[arrayIndex] = originX[arrayIndex] + diffX[arrayIndex] * scale;
+            y[arrayIndex] = originY[arrayIndex] + diffY[arrayIndex] * scale;
+        }
+        isBoundsDirty = true;
+        ++version;
+    }
+
+    public void finish() {
+        if (null == diffX) {
+            return;
+        }
+        for (int i = 0; i < size; ++i) {
+            final int arrayIndex = toArrayIndex(i);
+            x[arrayIndex] = originX[arrayIndex] + diffX[arrayIndex];
+            y[arrayIndex] = originY[arrayIndex] + diffY[arrayIndex];
+        }
+        originX = originY = diffX = diffY = null;
+        isBoundsDirty = true;
+        ++version;
+    }
+
+    public void clear() {
+        size = 0;
+        originX = originY = diffX = diffY = null;
+        isBoundsDirty = true;
+        ++version;
+    }
+
+    /**
+     * Returns number that changes every time values of this array change.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the smallest X of all values, result is cached until values change so it is cheap to call it for every
+     * frame. Array should not be empty.
+     */
+    public float getMinX() {
+        calculateBounds();
+        return minX;
+    }
+
+    public float getMaxX() {
+        calculateBounds();
+        return maxX;
+    }
+
+    public float getMinY() {
+        calculateBounds();
+        return minY;
+    }
+
+    public float getMaxY() {
+        calculateBounds();
+        return maxY;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (x.length >= capacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, x.length + (x.length >> 1) + 1);
+        x = Arrays.copyOf(x, newCapacity);
+        y = Arrays.copyOf(y, newCapacity);
+        if (null != diffX) {
+            originX = Arrays.copyOf(originX, newCapacity);
+            originY = Arrays.copyOf(originY, newCapacity);
+            diffX = Arrays.copyOf(diffX, newCapacity);
+            diffY = Arrays.copyOf(diffY, newCapacity);
+        }
+    }
+
+    /**
+     * Returns read only list view of this array. Every {@link List#get(int)} call creates new {@link PointValue} so
+     * changes made to returned values are not visible in this array, use {@link #set(int, float, float)} and
+     * {@link #setTarget(int, float, float)} instead.
+     */
+    public List<PointValue> asList() {
+        if (null == listView) {
+            listView = new AbstractList<PointValue>() {
+                @Override
+                public PointValue get(int index) {
+                    checkIndex(index);
+                    return new PointValue(getX(index), getY(index));
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return listView;
+    }
+
+    /**
+     * Translates logical value index into index of coordinates arrays.
+     */
+    protected int toArrayIndex(int index) {
+        return index;
+    }
+
+    /**
+     * Stores coordinates under given logical index and resets its animation target.
+     */
+    protected void store(int index, float valueX, float valueY) {
+        final int arrayIndex = toArrayIndex(index);
+        x[arrayIndex] = valueX;
+        y[arrayIndex] = valueY;
+        if (null != diffX) {
+            originX[arrayIndex] = valueX;
+            originY[arrayIndex] = valueY;
+            diffX[arrayIndex] = 0;
+            diffY[arrayIndex] = 0;
+        }
+    }
+
+    protected void calculateBounds() {
+        if (!isBoundsDirty) {
+            return;
+        }
+        minX = minY = Float.MAX_VALUE;
+        maxX = maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < size; ++i) {
+            final int arrayIndex = toArrayIndex(i);
+            includeInBounds(x[arrayIndex], y[arrayIndex]);
+        }
+        isBoundsDirty = false;
+    }
+
+    private void includeInBounds(float valueX, float valueY) {
+        if (valueX < minX) {
+            minX = valueX;
+        }
+        if (valueX > maxX) {
+            maxX = valueX;
+        }
+        if (valueY < minY) {
+            minY = valueY;
+        }
+        if (valueY > maxY) {
+            maxY = valueY;
+        }
+    }
+
+    protected void allocateAnimationArrays() {
+        final int capacity = x.length;
+        originX = Arrays.copyOf(x, capacity);
+        originY = Arrays.copyOf(y, capacity);
+        diffX = new float[capacity];
+        diffY = new float[capacity];
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package lecho.lib.hellocharts.model;
+
+/**
+ * Fixed capacity line storage for streaming data. {@link #add(float, float)} appends value in O(1) and if buffer is
+ * full the oldest value is evicted. Extremes of values are maintained incrementally with monotonic min/max deques so
+ * max viewport can be calculated without scanning the whole buffer after every append.
+ */
+public class PointValueRingBuffer extends PointValueArray {
+    /**
+     * Array index of the oldest value.
+     */
+    private int head;
+
+    private MonotonicDeque minXDeque;
+    private MonotonicDeque maxXDeque;
+    private MonotonicDeque minYDeque;
+    private MonotonicDeque maxYDeque;
+
+    /**
+     * If true deques don't match values and have to be rebuilt, values changed in other way than append/evict.
+     */
+    private boolean isDequesDirty = false;
+
+    public PointValueRingBuffer(int capacity) {
+        super(capacity);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+        }
+        minXDeque = new MonotonicDeque(capacity, false);
+        maxXDeque = new MonotonicDeque(capacity, true);
+        minYDeque = new MonotonicDeque(capacity, false);
+        maxYDeque = new MonotonicDeque(capacity, true);
+    }
+
+    /**
+     * Copy constructor for deep copy, animation targets are not copied.
+     */
+    public PointValueRingBuffer(PointValueRingBuffer ringBuffer) {
+        this(ringBuffer.getCapacity());
+        for (int i = 0; i < ringBuffer.size(); ++i) {
+            add(ringBuffer.getX(i), ringBuffer.getY(i));
+        }
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    public boolean isFull() {
+        return size == x.length;
+    }
+
+    /**
+     * Appends value at the end of buffer, if buffer is full the oldest value is evicted first.
+     */
+    @Override
+    public PointValueArray add(float valueX, float valueY) {
+        if (isFull()) {
+            evict(1);
+        }
+        store(size, valueX, valueY);
+        ++size;
+        ++version;
+        if (!isDequesDirty) {
+            final int arrayIndex = toArrayIndex(size - 1);
+            minXDeque.push(x, arrayIndex);
+            maxXDeque.push(x, arrayIndex);
+            minYDeque.push(y, arrayIndex);
+            maxYDeque.push(y, arrayIndex);
+        }
+        return this;
+    }
+
+    /**
+     * Same as {@link #add(float, float)}.
+     */
+    public PointValueRingBuffer append(float valueX, float valueY) {
+        add(valueX, valueY);
+        return this;
+    }
+
+    /**
+     * Removes given number of the oldest values.
+     */
+    public void evict(int count) {
+        if (count <= 0 || size == 0) {
+            // Nothing changes so caches keyed by version stay valid.
+            return;
+        }
+        if (count > size) {
+            count = size;
+        }
+        for (int i = 0; i < count; ++i) {
+            if (!isDequesDirty) {
+                minXDeque.evict(head);
+                maxXDeque.evict(head);
+                minYDeque.evict(head);
+                maxYDeque.evict(head);
+            }
+            head = nextArrayIndex(head);
+            --size;
+        }
+        ++version;
+    }
+
+    @Override
+    public PointValueArray set(int index, float valueX, float valueY) {
+        super.set(index, valueX, valueY);
+        isDequesDirty = true;
+        return this;
+    }
+
+    @Override
+    public void update(float scale) {
+        super.update(scale);
+        isDequesDirty = true;
+    }
+
+    @Override
+    public void finish() {
+        super.finish();
+        isDequesDirty = true;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        head = 0;
+        clearDeques();
+        isDequesDirty = false;
+    }
+
+    /**
+     * Ring buffer has fixed capacity, this method does nothing.
+     */
+    @Override
+    public void ensureCapacity(int capacity) {
+    }
+
+    @Override
+    protected int toArrayIndex(int index) {
+        final int arrayIndex = head + index;
+        return arrayIndex < x.length ? arrayIndex : arrayIndex - x.length;
+    }
+
+    @Override
+    protected void calculateBounds() {
+        if (isDequesDirty) {
+            rebuildDeques();
+        }
+        if (size == 0) {
+            minX = minY = Float.MAX_VALUE;
+            maxX = maxY = -Float.MAX_VALUE;
+            return;
+        }
+        minX = x[minXDeque.peek()];
+        maxX = x[maxXDeque.peek()];
+        minY = y[minYDeque.peek()];
+        maxY = y[maxYDeque.peek()];
+    }
+
+    private void rebuildDeques() {
+        clearDeques();
+        for (int i = 0; i < size; ++i) {
+            final int arrayIndex = toArrayIndex(i);
+            minXDeque.push(x, arrayIndex);
+            maxXDeque.push(x, arrayIndex);
+            minYDeque.push(y, arrayIndex);
+            maxYDeque.push(y, arrayIndex);
+        }
+        isDequesDirty = false;
+    }
+
+    private void clearDeques() {
+        minXDeque.clear();
+        maxXDeque.clear();
+        minYDeque.clear();
+        maxYDeque.clear();
+    }
+
+    private int nextArrayIndex(int arrayIndex) {
+        return arrayIndex + 1 < x.length ? arrayIndex + 1 : 0;
+    }
+
+    /**
+     * Deque of array indexes whose values are monotonic, the first element is always index of the min(or max) value
+     * in current window. Every index is pushed and popped at most once so operations are amortized O(1).
+     */
+    private static class MonotonicDeque {
+        private final int[] indexes;
+        private final boolean isMax;
+        private int head;
+        private int size;
+
+        MonotonicDeque(int capacity, boolean isMax) {
+            this.indexes = new int[capacity];
+            this.isMax = isMax;
+        }
+
+        void push(float[] values, int arrayIndex) {
+            final float value = values[arrayIndex];
+            while (size > 0) {
+                final float lastValue = values[indexes[position(size - 1)]];
+                if (isMax ? lastValue <= value : lastValue >= value) {
+                    --size;
+                } else {
+                    break;
+                }
+            }
+            indexes[position(size)] = arrayIndex;
+            ++size;
+        }
+
+        void evict(int arrayIndex) {
+            if (size > 0 && indexes[head] == arrayIndex) {
+                head = head + 1 < indexes.length ? head + 1 : 0;
+                --size;
+            }
+        }
+
+        int peek() {
+            return indexes[head];
+        }
+
+        void clear() {
+            head = 0;
+            size = 0;
+        }
+
+        private int position(int index) {
+            final int position = head + index;
+            return position < indexes.length ? position : position - indexes.length;
+        }
+    }
+}
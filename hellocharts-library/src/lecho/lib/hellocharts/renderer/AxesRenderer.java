@@ -1,16 +1,22 @@
 package lecho.lib.hellocharts.renderer;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Paint.Align;
 import android.graphics.Paint.FontMetricsInt;
+import android.graphics.PorterDuff;
 import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.text.TextUtils;
 import android.util.Log;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
 import lecho.lib.hellocharts.computator.ChartComputator;
 import lecho.lib.hellocharts.model.Axis;
 import lecho.lib.hellocharts.model.AxisValue;
@@ -34,6 +40,11 @@ public class AxesRenderer {
     private static final int RIGHT = 2;
     private static final int BOTTOM = 3;
 
+    /**
+     * Number of floats in auto-generated axis key, see {@link #prepareAutoGeneratedAxis(Axis, int)}.
+     */
+    private static final int AUTO_AXIS_KEY_SIZE = 9;
+
     /**
      * Used to measure label width. If label has mas 5 characters only 5 first characters of this array are used to
      * measure text width.
@@ -69,6 +80,12 @@ public class AxesRenderer {
      */
     private char[] labelBuffer = new char[64];
 
+    /**
+     * Caches of formatted labels for each axis.
+     */
+    private AxisLabelCache[] labelCacheTab = new AxisLabelCache[]{new AxisLabelCache(), new AxisLabelCache(),
+            new AxisLabelCache(), new AxisLabelCache()};
+
     /**
      * Holds number of values that should be drown for each axis.
      */
@@ -101,6 +118,40 @@ public class AxesRenderer {
     private AxisAutoValues[] autoValuesBufferTab = new AxisAutoValues[]{new AxisAutoValues(),
             new AxisAutoValues(), new AxisAutoValues(), new AxisAutoValues()};
 
+    /**
+     * Auto-generated values and their raw positions are computed again only when key of axis changes: visible range,
+     * number of steps, content rect and current viewport range(used to compute raw positions).
+     */
+    private boolean[] isAutoAxisValidTab = new boolean[4];
+    private float[][] autoAxisKeyTab = new float[4][AUTO_AXIS_KEY_SIZE];
+    private float[] autoAxisKey = new float[AUTO_AXIS_KEY_SIZE];
+
+    /**
+     * True if values of custom axis are sorted ascending so visible values can be found with binary search. Checked
+     * when data or size changes.
+     */
+    private boolean[] isCustomAxisSortedTab = new boolean[4];
+
+    // Background layer with axes lines, reused while viewport, content rects and axes styling don't change.
+    private boolean isBackgroundLayerEnabled;
+    private boolean isBackgroundLayerValid;
+    private Bitmap backgroundBitmap;
+    private Canvas backgroundCanvas = new Canvas();
+    private Viewport backgroundViewport = new Viewport();
+    private Rect backgroundContentRect = new Rect();
+    private Rect backgroundContentRectMargins = new Rect();
+    /**
+     * Separation lines are drawn with label paint which color changes when labels are drawn.
+     */
+    private int[] backgroundSeparationColorTab = new int[4];
+    /**
+     * Axes and their lines flags used to render layer, flags are read on every frame so they can change without data
+     * change.
+     */
+    private Axis[] backgroundAxisTab = new Axis[4];
+    private boolean[] backgroundHasLinesTab = new boolean[4];
+    private boolean[] backgroundHasSeparationLineTab = new boolean[4];
+
     public AxesRenderer(Context context, Chart chart) {
         this.chart = chart;
         computator = chart.getChartComputator();
@@ -118,6 +169,7 @@ public class AxesRenderer {
     }
 
     public void onChartSizeChanged() {
+        backgroundBitmap = null;
         onChartDataOrSizeChanged();
     }
 
@@ -126,6 +178,12 @@ public class AxesRenderer {
     }
 
     private void onChartDataOrSizeChanged() {
+        Arrays.fill(isAutoAxisValidTab, false);
+        isBackgroundLayerValid = false;
+        // Formatter could have been modified without changing its instance.
+        for (AxisLabelCache labelCache : labelCacheTab) {
+            labelCache.clear();
+        }
         initAxis(chart.getChartData().getAxisXTop(), TOP);
         initAxis(chart.getChartData().getAxisXBottom(), BOTTOM);
         initAxis(chart.getChartData().getAxisYLeft(), LEFT);
@@ -134,6 +192,27 @@ public class AxesRenderer {
 
     public void resetRenderer() {
         this.computator = chart.getChartComputator();
+        isBackgroundLayerValid = false;
+    }
+
+    /**
+     * @see #setBackgroundLayerEnabled(boolean)
+     */
+    public boolean isBackgroundLayerEnabled() {
+        return isBackgroundLayerEnabled;
+    }
+
+    /**
+     * Set true to draw axes lines(grid and separation lines) into cached bitmap which is reused until viewport,
+     * content rect or axes styling changes, so frames that only change selection or labels don't draw lines again.
+     * Costs additional bitmap of chart size, by default false.
+     */
+    public void setBackgroundLayerEnabled(boolean isEnabled) {
+        this.isBackgroundLayerEnabled = isEnabled;
+        isBackgroundLayerValid = false;
+        if (!isEnabled) {
+            backgroundBitmap = null;
+        }
     }
 
     /**
@@ -143,6 +222,7 @@ public class AxesRenderer {
         if (null == axis) {
             return;
         }
+        isCustomAxisSortedTab[position] = !axis.isAutoGenerated() && isSortedForBinarySearch(axis.getValues());
         initAxisAttributes(axis, position);
         initAxisMargin(axis, position);
         initAxisMeasurements(axis, position);
@@ -337,6 +417,11 @@ public class AxesRenderer {
      * @param canvas
      */
     public void drawInBackground(Canvas canvas) {
+        if (isBackgroundLayerEnabled && computator.getChartWidth() > 0 && computator.getChartHeight() > 0) {
+            drawBackgroundLayer(canvas);
+            return;
+        }
+
         Axis axis = chart.getChartData().getAxisYLeft();
         if (null != axis) {
             prepareAxisToDraw(axis, LEFT);
@@ -362,6 +447,98 @@ public class AxesRenderer {
         }
     }
 
+    /**
+     * Prepares axes coordinates and draws axes lines from background layer, layer is rendered again only if it is not
+     * valid anymore.
+     */
+    private void drawBackgroundLayer(Canvas canvas) {
+        for (int position = 0; position < 4; ++position) {
+            final Axis axis = getAxis(position);
+            if (null != axis) {
+                prepareAxisToDraw(axis, position);
+            }
+        }
+
+        if (null == backgroundBitmap) {
+            backgroundBitmap = Bitmap.createBitmap(computator.getChartWidth(), computator.getChartHeight(),
+                    Bitmap.Config.ARGB_8888);
+            backgroundCanvas.setBitmap(backgroundBitmap);
+            isBackgroundLayerValid = false;
+        }
+        if (!checkBackgroundLayer()) {
+            backgroundCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            // Keep the same drawing order as without layer.
+            drawLayerAxisLines(LEFT);
+            drawLayerAxisLines(RIGHT);
+            drawLayerAxisLines(BOTTOM);
+            drawLayerAxisLines(TOP);
+        }
+        canvas.drawBitmap(backgroundBitmap, 0, 0, null);
+    }
+
+    private void drawLayerAxisLines(int position) {
+        final Axis axis = getAxis(position);
+        if (null != axis) {
+            drawAxisLines(backgroundCanvas, axis, position);
+        }
+    }
+
+    /**
+     * Returns true if background layer is valid for current viewport, content rects, axes, their lines flags and
+     * separation lines colors, otherwise stores them as new layer key and returns false. Axes values and other styling
+     * change only with data or size which invalidates layer.
+     */
+    private boolean checkBackgroundLayer() {
+        final Viewport viewport = computator.getCurrentViewport();
+        final Rect contentRect = computator.getContentRectMinusAllMargins();
+        final Rect contentRectMargins = computator.getContentRectMinusAxesMargins();
+        boolean isValid = isBackgroundLayerValid && backgroundViewport.equals(viewport)
+                && backgroundContentRect.equals(contentRect) && backgroundContentRectMargins.equals(contentRectMargins);
+        for (int position = 0; position < 4; ++position) {
+            final int color = labelPaintTab[position].getColor();
+            if (backgroundSeparationColorTab[position] != color) {
+                backgroundSeparationColorTab[position] = color;
+                isValid = false;
+            }
+            final Axis axis = getAxis(position);
+            if (backgroundAxisTab[position] != axis) {
+                backgroundAxisTab[position] = axis;
+                isValid = false;
+            }
+            if (null != axis) {
+                if (backgroundHasLinesTab[position] != axis.hasLines()) {
+                    backgroundHasLinesTab[position] = axis.hasLines();
+                    isValid = false;
+                }
+                if (backgroundHasSeparationLineTab[position] != axis.hasSeparationLine()) {
+                    backgroundHasSeparationLineTab[position] = axis.hasSeparationLine();
+                    isValid = false;
+                }
+            }
+        }
+        if (!isValid) {
+            backgroundViewport.set(viewport);
+            backgroundContentRect.set(contentRect);
+            backgroundContentRectMargins.set(contentRectMargins);
+            isBackgroundLayerValid = true;
+        }
+        return isValid;
+    }
+
+    private Axis getAxis(int position) {
+        if (LEFT == position) {
+            return chart.getChartData().getAxisYLeft();
+        } else if (RIGHT == position) {
+            return chart.getChartData().getAxisYRight();
+        } else if (TOP == position) {
+            return chart.getChartData().getAxisXTop();
+        } else if (BOTTOM == position) {
+            return chart.getChartData().getAxisXBottom();
+        } else {
+            throw new IllegalArgumentException("Invalid axis position: " + position);
+        }
+    }
+
     private void prepareAxisToDraw(Axis axis, int position) {
         if (axis.isAutoGenerated()) {
             prepareAutoGeneratedAxis(axis, position);
@@ -398,6 +575,7 @@ public class AxesRenderer {
     }
 
     private void prepareCustomAxis(Axis axis, int position) {
+        isAutoAxisValidTab[position] = false;
         final Viewport maxViewport = computator.getMaximumViewport();
         final Viewport visibleViewport = computator.getVisibleViewport();
         final Rect contentRect = computator.getContentRectMinusAllMargins();
@@ -435,12 +613,20 @@ public class AxesRenderer {
             valuesToDrawTab[position] = new AxisValue[axis.getValues().size()];
         }
 
+        final List<AxisValue> values = axis.getValues();
+        final boolean isSorted = isCustomAxisSortedTab[position];
+        final int valuesSize = values.size();
         float rawValue;
         int valueIndex = 0;
         int valueToDrawIndex = 0;
-        for (AxisValue axisValue : axis.getValues()) {
+        // For sorted values skip directly to the first visible one and stop after the last one.
+        for (int i = isSorted ? findFirstValueIndex(values, viewportMin) : 0; i < valuesSize; ++i) {
+            final AxisValue axisValue = values.get(i);
             // Draw axis values that are within visible viewport.
             final float value = axisValue.getValue();
+            if (isSorted && value > viewportMax) {
+                break;
+            }
 
             if (value >= viewportMin && value <= viewportMax) {
                 // Draw axis values that have 0 module value, this will hide some labels if there is no place for them.
@@ -465,6 +651,7 @@ public class AxesRenderer {
 
     private void prepareAutoGeneratedAxis(Axis axis, int position) {
         final Viewport visibleViewport = computator.getVisibleViewport();
+        final Viewport currentViewport = computator.getCurrentViewport();
         final Rect contentRect = computator.getContentRectMinusAllMargins();
         boolean isAxisVertical = isAxisVertical(position);
         float start, stop;
@@ -473,13 +660,34 @@ public class AxesRenderer {
             start = visibleViewport.bottom;
             stop = visibleViewport.top;
             contentRectDimension = contentRect.height();
+            autoAxisKey[7] = currentViewport.bottom;
+            autoAxisKey[8] = currentViewport.top;
         } else {
             start = visibleViewport.left;
             stop = visibleViewport.right;
             contentRectDimension = contentRect.width();
+            autoAxisKey[7] = currentViewport.left;
+            autoAxisKey[8] = currentViewport.right;
+        }
+        final int steps = contentRectDimension / labelDimensionForStepsTab[position] / 2;
+        autoAxisKey[0] = start;
+        autoAxisKey[1] = stop;
+        autoAxisKey[2] = steps;
+        autoAxisKey[3] = contentRect.left;
+        autoAxisKey[4] = contentRect.top;
+        autoAxisKey[5] = contentRect.right;
+        autoAxisKey[6] = contentRect.bottom;
+        if (isAutoAxisValidTab[position] && Arrays.equals(autoAxisKey, autoAxisKeyTab[position])) {
+            // Values to draw and their raw positions are still valid, lines could have been enabled in the meantime.
+            if (axis.hasLines() && (linesDrawBufferTab[position].length < valuesToDrawNumTab[position] * 4)) {
+                linesDrawBufferTab[position] = new float[valuesToDrawNumTab[position] * 4];
+            }
+            return;
         }
-        FloatUtils.computeAutoGeneratedAxisValues(start, stop, contentRectDimension /
-                labelDimensionForStepsTab[position] / 2, autoValuesBufferTab[position]);
+        System.arraycopy(autoAxisKey, 0, autoAxisKeyTab[position], 0, AUTO_AXIS_KEY_SIZE);
+        isAutoAxisValidTab[position] = true;
+
+        FloatUtils.computeAutoGeneratedAxisValues(start, stop, steps, autoValuesBufferTab[position]);
         //Reinitialize tab to hold lines coordinates.
         if (axis.hasLines()
                 && (linesDrawBufferTab[position].length < autoValuesBufferTab[position].valuesNumber * 4)) {
@@ -510,6 +718,38 @@ public class AxesRenderer {
         valuesToDrawNumTab[position] = valueToDrawIndex;
     }
 
+    /**
+     * Returns true if values can be accessed by index in constant time and are sorted ascending by value.
+     */
+    private boolean isSortedForBinarySearch(List<AxisValue> values) {
+        if (!(values instanceof RandomAccess)) {
+            return false;
+        }
+        for (int i = 1; i < values.size(); ++i) {
+            if (values.get(i).getValue() < values.get(i - 1).getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns index of the first value not smaller than given value, values have to be sorted.
+     */
+    private int findFirstValueIndex(List<AxisValue> values, float value) {
+        int low = 0;
+        int high = values.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (values.get(middle).getValue() < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     private boolean checkRawValue(Rect rect, float rawValue, boolean axisInside, int position, boolean isVertical) {
         if (axisInside) {
             if (isVertical) {
@@ -584,17 +824,10 @@ public class AxesRenderer {
             labelY = labelBaselineTab[position];
         }
 
+        final AxisLabelCache labelCache = labelCacheTab[position];
+        labelCache.checkAttributes(axis.getFormatter(), labelPaintTab[position].getTextSize(),
+                labelPaintTab[position].getTypeface(), axis.hasTiltedLabels());
         for (int valueToDrawIndex = 0; valueToDrawIndex < valuesToDrawNumTab[position]; ++valueToDrawIndex) {
-            int charsNumber = 0;
-            if (axis.isAutoGenerated()) {
-                final float value = autoValuesToDrawTab[position][valueToDrawIndex];
-                charsNumber = axis.getFormatter().formatValueForAutoGeneratedAxis(labelBuffer, value,
-                        autoValuesBufferTab[position].decimals);
-            } else {
-                AxisValue axisValue = valuesToDrawTab[position][valueToDrawIndex];
-                charsNumber = axis.getFormatter().formatValueForManualAxis(labelBuffer, axisValue);
-            }
-
             if (isAxisVertical) {
                 labelY = rawValuesTab[position][valueToDrawIndex];
             } else {
@@ -608,8 +841,14 @@ public class AxesRenderer {
                 } else {
                     paint.setColor(axis.getValueTextColor());
                 }
-                canvas.drawText(labelBuffer, labelBuffer.length - charsNumber, charsNumber, labelX, labelY,
-                        labelPaintTab[position]);
+                final char[] label;
+                if (axis.isAutoGenerated()) {
+                    label = obtainAutoLabel(labelCache, axis, autoValuesToDrawTab[position][valueToDrawIndex],
+                            autoValuesBufferTab[position].decimals);
+                } else {
+                    label = obtainLabel(labelCache, axis, valuesToDrawTab[position][valueToDrawIndex]);
+                }
+                canvas.drawText(label, 0, label.length, labelX, labelY, labelPaintTab[position]);
             } else {
                 AxisValue axisValue = valuesToDrawTab[position][valueToDrawIndex];
                 if (axis.isVisibleLastLabel() || (!axis.isVisibleLastLabel() && valueToDrawIndex < valuesToDrawNumTab[position] - 1)) {
@@ -621,8 +860,8 @@ public class AxesRenderer {
                         paint.setColor(axis.getValueTextColor());
                     }
 
-                    String value = String.valueOf((int) axisValue.getOriginal());
-                    canvas.drawText(value.toCharArray(), 0, value.toCharArray().length, labelX, labelY - axis.getLabelYOffset(),
+                    final char[] label = obtainLabel(labelCache, axis, axisValue);
+                    canvas.drawText(label, 0, label.length, labelX, labelY - axis.getLabelYOffset(),
                             labelPaintTab[position]);
                 }
             }
@@ -644,6 +883,37 @@ public class AxesRenderer {
         }
     }
 
+    /**
+     * Returns label of auto-generated axis value from cache, formats it if it is not cached yet.
+     */
+    private char[] obtainAutoLabel(AxisLabelCache labelCache, Axis axis, float value, int decimals) {
+        char[] label = labelCache.getAutoLabel(value, decimals);
+        if (null == label) {
+            final int charsNumber = axis.getFormatter().formatValueForAutoGeneratedAxis(labelBuffer, value, decimals);
+            label = Arrays.copyOfRange(labelBuffer, labelBuffer.length - charsNumber, labelBuffer.length);
+            labelCache.putAutoLabel(value, decimals, label);
+        }
+        return label;
+    }
+
+    /**
+     * Returns label of custom axis value from cache, creates it if it is not cached yet. Tilted labels are formatted by
+     * axis formatter, other labels show original value.
+     */
+    private char[] obtainLabel(AxisLabelCache labelCache, Axis axis, AxisValue axisValue) {
+        char[] label = labelCache.getLabel(axisValue);
+        if (null == label) {
+            if (axis.hasTiltedLabels()) {
+                final int charsNumber = axis.getFormatter().formatValueForManualAxis(labelBuffer, axisValue);
+                label = Arrays.copyOfRange(labelBuffer, labelBuffer.length - charsNumber, labelBuffer.length);
+            } else {
+                label = String.valueOf((int) axisValue.getOriginal()).toCharArray();
+            }
+            labelCache.putLabel(axisValue, label);
+        }
+        return label;
+    }
+
     private boolean isAxisVertical(int position) {
         if (LEFT == position || RIGHT == position) {
             return true;
@@ -0,0 +1,161 @@
+package lecho.lib.hellocharts.renderer;
+
+import android.graphics.Typeface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lecho.lib.hellocharts.formatter.AxisValueFormatter;
+import lecho.lib.hellocharts.model.AxisValue;
+
+/**
+ * Cache of formatted labels of single axis, so labels of the same values are not formatted again on every frame, for
+ * example when chart is scrolled or only selection changed. Labels of auto-generated axes are identified by value and
+ * number of decimal digits, labels of custom axes by AxisValue instance(label is formatted again if value or label of
+ * that instance changed, AxisValues equal to each other don't share labels). Cache is cleared when formatter, text
+ * size, typeface or labels mode changes and should be cleared when chart data changes because formatter could have
+ * been modified, least recently used labels are evicted when cache is full.
+ */
+public class AxisLabelCache {
+    private static final int DEFAULT_MAX_LABELS = 256;
+
+    private final Map<Object, Label> labels;
+    /**
+     * Reused to look up labels without allocation.
+     */
+    private final AutoValueKey lookupKey = new AutoValueKey();
+    private final IdentityKey lookupIdentityKey = new IdentityKey();
+
+    private AxisValueFormatter formatter;
+    private float textSize;
+    private Typeface typeface;
+    private boolean hasTiltedLabels;
+
+    public AxisLabelCache() {
+        this(DEFAULT_MAX_LABELS);
+    }
+
+    public AxisLabelCache(final int maxLabels) {
+        if (maxLabels <= 0) {
+            throw new IllegalArgumentException("Max labels number must be positive: " + maxLabels);
+        }
+        labels = new LinkedHashMap<Object, Label>(maxLabels, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Label> eldest) {
+                return size() > maxLabels;
+            }
+        };
+    }
+
+    /**
+     * Clears cache if any of attributes that affect labels changed since the last call.
+     */
+    public void checkAttributes(AxisValueFormatter formatter, float textSize, Typeface typeface,
+                                boolean hasTiltedLabels) {
+        if (this.formatter == formatter && this.textSize == textSize && this.typeface == typeface
+                && this.hasTiltedLabels == hasTiltedLabels) {
+            return;
+        }
+        labels.clear();
+        this.formatter = formatter;
+        this.textSize = textSize;
+        this.typeface = typeface;
+        this.hasTiltedLabels = hasTiltedLabels;
+    }
+
+    /**
+     * Returns cached label of auto-generated axis value or null if there is no such label.
+     */
+    public char[] getAutoLabel(float value, int decimals) {
+        lookupKey.set(value, decimals);
+        final Label label = labels.get(lookupKey);
+        return null == label ? null : label.chars;
+    }
+
+    public void putAutoLabel(float value, int decimals, char[] chars) {
+        final AutoValueKey key = new AutoValueKey();
+        key.set(value, decimals);
+        labels.put(key, new Label(chars, value, null));
+    }
+
+    /**
+     * Returns cached label of custom axis value or null if there is no such label or axis value changed.
+     */
+    public char[] getLabel(AxisValue axisValue) {
+        lookupIdentityKey.axisValue = axisValue;
+        final Label label = labels.get(lookupIdentityKey);
+        lookupIdentityKey.axisValue = null;
+        if (null == label || label.value != axisValue.getValue() || label.source != axisValue.getLabelAsChars()) {
+            return null;
+        }
+        return label.chars;
+    }
+
+    /**
+     * Caches label of custom axis value, label previously cached for the same instance is replaced.
+     */
+    public void putLabel(AxisValue axisValue, char[] chars) {
+        final IdentityKey key = new IdentityKey();
+        key.axisValue = axisValue;
+        labels.put(key, new Label(chars, axisValue.getValue(), axisValue.getLabelAsChars()));
+    }
+
+    public void clear() {
+        labels.clear();
+    }
+
+    private static class Label {
+        final char[] chars;
+        final float value;
+        /**
+         * Label chars of AxisValue used to format this label, AxisValue creates new array when label changes.
+         */
+        final char[] source;
+
+        Label(char[] chars, float value, char[] source) {
+            this.chars = chars;
+            this.value = value;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Identifies custom axis value by instance, AxisValue equals() and hashCode() depend on its mutable fields.
+     */
+    private static class IdentityKey {
+        AxisValue axisValue;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).axisValue == axisValue;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(axisValue);
+        }
+    }
+
+    private static class AutoValueKey {
+        float value;
+        int decimals;
+
+        void set(float value, int decimals) {
+            this.value = value;
+            this.decimals = decimals;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof AutoValueKey)) return false;
+            AutoValueKey that = (AutoValueKey) o;
+            return Float.compare(that.value, value) == 0 && decimals == that.decimals;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Float.floatToIntBits(value) + decimals;
+        }
+    }
+}
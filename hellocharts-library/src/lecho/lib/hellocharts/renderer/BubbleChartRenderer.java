@@ -7,6 +7,8 @@ import android.graphics.PointF;
 import android.graphics.Rect;
 import android.graphics.RectF;
 
+import java.util.List;
+
 import lecho.lib.hellocharts.computator.ChartComputator;
 import lecho.lib.hellocharts.formatter.BubbleChartValueFormatter;
 import lecho.lib.hellocharts.model.BubbleChartData;
@@ -15,7 +17,9 @@ import lecho.lib.hellocharts.model.SelectedValue.SelectedValueType;
 import lecho.lib.hellocharts.model.ValueShape;
 import lecho.lib.hellocharts.model.Viewport;
 import lecho.lib.hellocharts.provider.BubbleChartDataProvider;
+import lecho.lib.hellocharts.util.BubbleClusters;
 import lecho.lib.hellocharts.util.ChartUtils;
+import lecho.lib.hellocharts.util.ValueGridIndex;
 import lecho.lib.hellocharts.view.Chart;
 
 public class BubbleChartRenderer extends AbstractChartRenderer {
@@ -65,6 +69,25 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
     private BubbleChartValueFormatter valueFormatter;
     private Viewport tempMaximumViewport = new Viewport();
 
+    /**
+     * Incremented when data changes or on animation step, used to rebuild bubbles index lazily.
+     */
+    private int dataVersion;
+    private int indexVersion = -1;
+    private ValueGridIndex bubblesIndex = new ValueGridIndex();
+    private float[] bubblesPoints = new float[0];
+    /**
+     * Radius(not scaled) of the biggest indexed bubble.
+     */
+    private float maxIndexedRadius;
+
+    /**
+     * Cluster cell size in pixels, 0 if clustering is disabled.
+     */
+    private int clusterSize;
+    private int clustersVersion = -1;
+    private BubbleClusters clusters = new BubbleClusters();
+
     public BubbleChartRenderer(Context context, Chart chart, BubbleChartDataProvider dataProvider) {
         super(context, chart);
         this.dataProvider = dataProvider;
@@ -94,12 +117,14 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
         this.hasLabels = data.hasLabels();
         this.hasLabelsOnlyForSelected = data.hasLabelsOnlyForSelected();
         this.valueFormatter = data.getFormatter();
+        this.clusterSize = ChartUtils.dp2px(density, data.getClusterSize());
 
         onChartViewportChanged();
     }
 
     @Override
     public void onChartViewportChanged() {
+        ++dataVersion;
         if (isViewportCalculationEnabled) {
             calculateMaxViewport();
             computator.setMaxViewport(tempMaximumViewport);
@@ -109,7 +134,9 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
 
     @Override
     public void draw(Canvas canvas) {
-        drawBubbles(canvas);
+        if (clusterSize <= 0 || !drawClusters(canvas)) {
+            drawBubbles(canvas);
+        }
         if (isTouched()) {
             highlightBubbles(canvas);
         }
@@ -123,13 +150,20 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
     public boolean checkTouch(float touchX, float touchY) {
         selectedValue.clear();
         final BubbleChartData data = dataProvider.getBubbleChartData();
-        int valueIndex = 0;
-        for (BubbleValue bubbleValue : data.getValues()) {
+        if (!computator.rawPixelsToDataPoint(touchX, touchY, bubbleCenter)) {
+            return false;
+        }
+        // Bubbles are drawn in values order so the one with the highest index is on top.
+        final int count = queryBubbles(bubbleCenter.x, bubbleCenter.y, bubbleCenter.x, bubbleCenter.y);
+        for (int i = count - 1; i >= 0; --i) {
+            final int valueIndex = bubblesIndex.getResult(i);
+            final BubbleValue bubbleValue = data.getValues().get(valueIndex);
             float rawRadius = processBubble(bubbleValue, bubbleCenter);
 
             if (ValueShape.SQUARE.equals(bubbleValue.getShape())) {
                 if (bubbleRect.contains(touchX, touchY)) {
                     selectedValue.set(valueIndex, valueIndex, SelectedValueType.NONE);
+                    break;
                 }
             } else if (ValueShape.CIRCLE.equals(bubbleValue.getShape())) {
                 final float diffX = touchX - bubbleCenter.x;
@@ -138,12 +172,11 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
 
                 if (touchDistance <= rawRadius) {
                     selectedValue.set(valueIndex, valueIndex, SelectedValueType.NONE);
+                    break;
                 }
             } else {
                 throw new IllegalArgumentException("Invalid bubble shape: " + bubbleValue.getShape());
             }
-
-            ++valueIndex;
         }
 
         return isTouched();
@@ -182,11 +215,105 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
         computator.setCurrentViewport(currentViewport);
     }
 
+    /**
+     * Draws only bubbles that can intersect current viewport, in values order.
+     */
     private void drawBubbles(Canvas canvas) {
         final BubbleChartData data = dataProvider.getBubbleChartData();
-        for (BubbleValue bubbleValue : data.getValues()) {
-            drawBubble(canvas, bubbleValue);
+        final Viewport viewport = computator.getCurrentViewport();
+        final int count = queryBubbles(viewport.left, viewport.bottom, viewport.right, viewport.top);
+        for (int i = 0; i < count; ++i) {
+            drawBubble(canvas, data.getValues().get(bubblesIndex.getResult(i)));
+        }
+    }
+
+    /**
+     * Finds bubbles whose centers are within given data rectangle expanded by the biggest bubble radius so all
+     * bubbles that can intersect that rectangle are found. Returns number of bubbles, their indexes are available
+     * through bubblesIndex in ascending order.
+     */
+    private int queryBubbles(float left, float bottom, float right, float top) {
+        checkBubblesIndex();
+        final Rect contentRect = computator.getContentRectMinusAllMargins();
+        if (contentRect.width() == 0 || contentRect.height() == 0) {
+            return 0;
+        }
+        float maxRawRadius;
+        if (isBubbleScaledByX) {
+            maxRawRadius = computator.computeRawDistanceX(maxIndexedRadius * bubbleScaleX);
+        } else {
+            maxRawRadius = computator.computeRawDistanceY(maxIndexedRadius * bubbleScaleY);
+        }
+        maxRawRadius = Math.max(maxRawRadius, minRawRadius + touchAdditional);
+        final Viewport viewport = computator.getCurrentViewport();
+        final float marginX = maxRawRadius * viewport.width() / contentRect.width();
+        final float marginY = maxRawRadius * viewport.height() / contentRect.height();
+        return bubblesIndex.query(left - marginX, bottom - marginY, right + marginX, top + marginY);
+    }
+
+    /**
+     * Rebuilds bubbles index if data changed since it was built.
+     */
+    private void checkBubblesIndex() {
+        if (indexVersion == dataVersion) {
+            return;
+        }
+        final List<BubbleValue> values = dataProvider.getBubbleChartData().getValues();
+        final int size = values.size();
+        if (bubblesPoints.length < size * 2) {
+            bubblesPoints = new float[size * 2];
+        }
+        float maxZ = 0;
+        for (int i = 0; i < size; ++i) {
+            final BubbleValue bubbleValue = values.get(i);
+            bubblesPoints[i * 2] = bubbleValue.getX();
+            bubblesPoints[i * 2 + 1] = bubbleValue.getY();
+            maxZ = Math.max(maxZ, Math.abs(bubbleValue.getZ()));
         }
+        bubblesIndex.build(bubblesPoints, size);
+        maxIndexedRadius = (float) Math.sqrt(maxZ / Math.PI);
+        indexVersion = dataVersion;
+    }
+
+    /**
+     * Draws clusters of level matching current zoom, returns false if chart is zoomed in enough to draw individual
+     * bubbles.
+     */
+    private boolean drawClusters(Canvas canvas) {
+        final Rect contentRect = computator.getContentRectMinusAllMargins();
+        if (contentRect.width() == 0 || contentRect.height() == 0) {
+            return false;
+        }
+        if (clustersVersion != dataVersion) {
+            clusters.build(dataProvider.getBubbleChartData().getValues());
+            clustersVersion = dataVersion;
+        }
+        final Viewport viewport = computator.getCurrentViewport();
+        final int level = clusters.findLevel(clusterSize * viewport.width() / contentRect.width(),
+                clusterSize * viewport.height() / contentRect.height());
+        if (level < 0) {
+            return false;
+        }
+        // Clusters whose centers are farther from viewport than the biggest cluster radius can't be visible.
+        final float maxRawRadius = computeRawRadius(clusters.getMaxZ(level));
+        final float marginX = maxRawRadius * viewport.width() / contentRect.width();
+        final float marginY = maxRawRadius * viewport.height() / contentRect.height();
+        final int count = clusters.query(level, viewport.left - marginX, viewport.bottom - marginY,
+                viewport.right + marginX, viewport.top + marginY);
+        for (int i = 0; i < count; ++i) {
+            final int cluster = clusters.getQueryResult(level, i);
+            final float rawX = computator.computeRawX(clusters.getX(level, cluster));
+            final float rawY = computator.computeRawY(clusters.getY(level, cluster));
+            // Not touched bubbles are a little smaller than touched to give user touch feedback.
+            final float rawRadius = computeRawRadius(clusters.getZ(level, cluster)) - touchAdditional;
+            if (rawX + rawRadius < contentRect.left || rawX - rawRadius > contentRect.right
+                    || rawY + rawRadius < contentRect.top || rawY - rawRadius > contentRect.bottom) {
+                continue;
+            }
+            bubblePaint.setColor(clusters.getColor(level, cluster));
+            canvas.drawCircle(rawX, rawY, rawRadius, bubblePaint);
+        }
+        return true;
     }
 
     private void drawBubble(Canvas canvas, BubbleValue bubbleValue) {
@@ -240,7 +367,20 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
     private float processBubble(BubbleValue bubbleValue, PointF point) {
         final float rawX = computator.computeRawX(bubbleValue.getX());
         final float rawY = computator.computeRawY(bubbleValue.getY());
-        float radius = (float) Math.sqrt(Math.abs(bubbleValue.getZ()) / Math.PI);
+        final float rawRadius = computeRawRadius(bubbleValue.getZ());
+
+        bubbleCenter.set(rawX, rawY);
+        if (ValueShape.SQUARE.equals(bubbleValue.getShape())) {
+            bubbleRect.set(rawX - rawRadius, rawY - rawRadius, rawX + rawRadius, rawY + rawRadius);
+        }
+        return rawRadius;
+    }
+
+    /**
+     * Calculates radius in pixels of bubble with given z value, including touch additional.
+     */
+    private float computeRawRadius(float z) {
+        float radius = (float) Math.sqrt(Math.abs(z) / Math.PI);
         float rawRadius;
         if (isBubbleScaledByX) {
             radius *= bubbleScaleX;
@@ -253,11 +393,6 @@ public class BubbleChartRenderer extends AbstractChartRenderer {
         if (rawRadius < minRawRadius + touchAdditional) {
             rawRadius = minRawRadius + touchAdditional;
         }
-
-        bubbleCenter.set(rawX, rawY);
-        if (ValueShape.SQUARE.equals(bubbleValue.getShape())) {
-            bubbleRect.set(rawX - rawRadius, rawY - rawRadius, rawX + rawRadius, rawY + rawRadius);
-        }
         return rawRadius;
     }
 
@@ -4,16 +4,23 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Paint.Cap;
+import android.graphics.Path;
 import android.graphics.PointF;
+import android.graphics.Rect;
 import android.graphics.RectF;
 
+import java.util.Arrays;
+import java.util.List;
+
 import lecho.lib.hellocharts.model.Column;
+import lecho.lib.hellocharts.model.ColumnAggregation;
 import lecho.lib.hellocharts.model.ColumnChartData;
 import lecho.lib.hellocharts.model.SelectedValue.SelectedValueType;
 import lecho.lib.hellocharts.model.SubcolumnValue;
 import lecho.lib.hellocharts.model.Viewport;
 import lecho.lib.hellocharts.provider.ColumnChartDataProvider;
 import lecho.lib.hellocharts.util.ChartUtils;
+import lecho.lib.hellocharts.util.ColumnSummary;
 import lecho.lib.hellocharts.view.Chart;
 
 /**
@@ -26,6 +33,7 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     private static final int MODE_DRAW = 0;
     private static final int MODE_CHECK_TOUCH = 1;
     private static final int MODE_HIGHLIGHT = 2;
+    private static final int MODE_DRAW_LABELS = 3;
 
     private ColumnChartDataProvider dataProvider;
 
@@ -60,6 +68,52 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
 
     private Viewport tempMaximumViewport = new Viewport();
 
+    /**
+     * Indexes of first and last column that have to be processed, see
+     * {@link #calculateColumnsRange(float, float, float)}.
+     */
+    private int firstColumnIndex;
+    private int lastColumnIndex;
+
+    /**
+     * Touch point in data units.
+     */
+    private PointF touchedValue = new PointF();
+
+    /**
+     * Incremented every time chart data changes or is animated.
+     */
+    private int dataVersion;
+    /**
+     * Stacked columns sums computed once per data version, see {@link #calculateStackedSums(ColumnChartData)}.
+     * Subcolumn valueIndex of column columnIndex starts at stackedBaseValues[stackedColumnOffsets[columnIndex] +
+     * valueIndex] and ends at corresponding stackedEndValues.
+     */
+    private boolean isStackedSumsValid = false;
+    private int stackedSumsVersion;
+    private int[] stackedColumnOffsets = new int[1];
+    private float[] stackedBaseValues = new float[0];
+    private float[] stackedEndValues = new float[0];
+    private float[] stackedPositiveSums = new float[0];
+    private float[] stackedNegativeSums = new float[0];
+
+    /**
+     * Summary used to draw aggregated columns, built lazily once per data version, see
+     * {@link #drawAggregatedColumns(Canvas, ColumnChartData)}.
+     */
+    private ColumnSummary columnSummary = new ColumnSummary();
+    private boolean isColumnSummaryValid = false;
+    private int columnSummaryVersion;
+
+    /**
+     * Subcolumn rects are not drawn immediately but collected into one path per color and drawn with single call per
+     * color, see {@link #addRectToBatch(int, RectF)}.
+     */
+    private int batchesCount;
+    private int[] batchColors = new int[0];
+    private Path[] batchPaths = new Path[0];
+    private int lastBatchIndex;
+
     public ColumnChartRenderer(Context context, Chart chart, ColumnChartDataProvider dataProvider) {
         super(context, chart);
         this.dataProvider = dataProvider;
@@ -87,6 +141,8 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
 
     @Override
     public void onChartViewportChanged() {
+        // Called when data changed or during data animation.
+        ++dataVersion;
         if (isViewportCalculationEnabled) {
             calculateMaxViewport();
             computator.setMaxViewport(tempMaximumViewport);
@@ -97,12 +153,16 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     public void draw(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
         if (data.isStacked()) {
-            drawColumnForStacked(canvas);
+            if (!drawAggregatedColumns(canvas, data)) {
+                drawColumnForStacked(canvas);
+            }
             if (isTouched()) {
                 highlightColumnForStacked(canvas);
             }
         } else {
-            drawColumnsForSubcolumns(canvas);
+            if (!drawAggregatedColumns(canvas, data)) {
+                drawColumnsForSubcolumns(canvas);
+            }
             if (isTouched()) {
                 highlightColumnsForSubcolumns(canvas);
             }
@@ -152,32 +212,87 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     }
 
     private void calculateMaxViewportForStacked(ColumnChartData data) {
-        for (Column column : data.getColumns()) {
-            float sumPositive = baseValue;
-            float sumNegative = baseValue;
-            for (SubcolumnValue columnValue : column.getValues()) {
+        calculateStackedSums(data);
+        final int columnsCount = data.getColumns().size();
+        for (int columnIndex = 0; columnIndex < columnsCount; ++columnIndex) {
+            if (stackedPositiveSums[columnIndex] > tempMaximumViewport.top) {
+                tempMaximumViewport.top = stackedPositiveSums[columnIndex];
+            }
+            if (stackedNegativeSums[columnIndex] < tempMaximumViewport.bottom) {
+                tempMaximumViewport.bottom = stackedNegativeSums[columnIndex];
+            }
+        }
+    }
+
+    /**
+     * Computes running sums of positive and negative subcolumns for every stacked column. Sums are computed only once
+     * per data version and shared by viewport calculation, drawing, highlighting and touch checking.
+     */
+    private void calculateStackedSums(ColumnChartData data) {
+        if (isStackedSumsValid && stackedSumsVersion == dataVersion) {
+            return;
+        }
+        final List<Column> columns = data.getColumns();
+        final int columnsCount = columns.size();
+        if (stackedColumnOffsets.length < columnsCount + 1) {
+            stackedColumnOffsets = new int[columnsCount + 1];
+            stackedPositiveSums = new float[columnsCount];
+            stackedNegativeSums = new float[columnsCount];
+        }
+        int subcolumnsCount = 0;
+        for (int columnIndex = 0; columnIndex < columnsCount; ++columnIndex) {
+            stackedColumnOffsets[columnIndex] = subcolumnsCount;
+            subcolumnsCount += columns.get(columnIndex).getValues().size();
+        }
+        stackedColumnOffsets[columnsCount] = subcolumnsCount;
+        if (stackedBaseValues.length < subcolumnsCount) {
+            stackedBaseValues = new float[subcolumnsCount];
+            stackedEndValues = new float[subcolumnsCount];
+        }
+
+        for (int columnIndex = 0; columnIndex < columnsCount; ++columnIndex) {
+            float mostPositiveValue = baseValue;
+            float mostNegativeValue = baseValue;
+            int subcolumnIndex = stackedColumnOffsets[columnIndex];
+            for (SubcolumnValue columnValue : columns.get(columnIndex).getValues()) {
                 if (columnValue.getValue() >= baseValue) {
-                    sumPositive += columnValue.getValue();
+                    stackedBaseValues[subcolumnIndex] = mostPositiveValue;
+                    mostPositiveValue += columnValue.getValue();
+                    stackedEndValues[subcolumnIndex] = mostPositiveValue;
                 } else {
-                    sumNegative += columnValue.getValue();
+                    stackedBaseValues[subcolumnIndex] = mostNegativeValue;
+                    mostNegativeValue += columnValue.getValue();
+                    stackedEndValues[subcolumnIndex] = mostNegativeValue;
                 }
+                ++subcolumnIndex;
             }
-            if (sumPositive > tempMaximumViewport.top) {
-                tempMaximumViewport.top = sumPositive;
-            }
-            if (sumNegative < tempMaximumViewport.bottom) {
-                tempMaximumViewport.bottom = sumNegative;
-            }
+            stackedPositiveSums[columnIndex] = mostPositiveValue;
+            stackedNegativeSums[columnIndex] = mostNegativeValue;
         }
+        isStackedSumsValid = true;
+        stackedSumsVersion = dataVersion;
     }
 
     private void drawColumnsForSubcolumns(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
+        final Viewport viewport = computator.getCurrentViewport();
+        calculateColumnsRange(viewport.left, viewport.right, columnWidth);
+        boolean hasLabels = false;
+        for (int columnIndex = firstColumnIndex; columnIndex <= lastColumnIndex; ++columnIndex) {
+            final Column column = data.getColumns().get(columnIndex);
             processColumnForSubcolumns(canvas, column, columnWidth, columnIndex, MODE_DRAW);
-            ++columnIndex;
+            hasLabels |= column.hasLabels();
+        }
+        drawBatches(canvas);
+        if (hasLabels) {
+            // Labels are drawn above all columns.
+            for (int columnIndex = firstColumnIndex; columnIndex <= lastColumnIndex; ++columnIndex) {
+                final Column column = data.getColumns().get(columnIndex);
+                if (column.hasLabels()) {
+                    processColumnForSubcolumns(canvas, column, columnWidth, columnIndex, MODE_DRAW_LABELS);
+                }
+            }
         }
     }
 
@@ -194,11 +309,13 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         touchedPoint.y = touchY;
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
+        if (!calculateTouchedColumnsRange(touchX, touchY, columnWidth)) {
+            return;
+        }
+        for (int columnIndex = firstColumnIndex; columnIndex <= lastColumnIndex; ++columnIndex) {
             // canvas is not needed for checking touch
-            processColumnForSubcolumns(null, column, columnWidth, columnIndex, MODE_CHECK_TOUCH);
-            ++columnIndex;
+            processColumnForSubcolumns(null, data.getColumns().get(columnIndex), columnWidth, columnIndex,
+                    MODE_CHECK_TOUCH);
         }
     }
 
@@ -220,7 +337,6 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         float subcolumnRawX = rawX - halfColumnWidth;
         int valueIndex = 0;
         for (SubcolumnValue columnValue : column.getValues()) {
-            columnPaint.setColor(columnValue.getColor());
             if (subcolumnRawX > rawX + halfColumnWidth) {
                 break;
             }
@@ -228,7 +344,10 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
             calculateRectToDraw(columnValue, subcolumnRawX, subcolumnRawX + subcolumnWidth, baseRawY, rawY);
             switch (mode) {
                 case MODE_DRAW:
-                    drawSubcolumn(canvas, column, columnValue, false);
+                    addRectToBatch(columnValue.getColor(), drawRect);
+                    break;
+                case MODE_DRAW_LABELS:
+                    drawLabel(canvas, column, columnValue, false, labelOffset);
                     break;
                 case MODE_HIGHLIGHT:
                     highlightSubcolumn(canvas, column, columnValue, valueIndex, false);
@@ -249,17 +368,32 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
     private void drawColumnForStacked(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
+        calculateStackedSums(data);
         // Columns are indexes from 0 to n, column index is also column X value
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
+        final Viewport viewport = computator.getCurrentViewport();
+        calculateColumnsRange(viewport.left, viewport.right, columnWidth);
+        boolean hasLabels = false;
+        for (int columnIndex = firstColumnIndex; columnIndex <= lastColumnIndex; ++columnIndex) {
+            final Column column = data.getColumns().get(columnIndex);
             processColumnForStacked(canvas, column, columnWidth, columnIndex, MODE_DRAW);
-            ++columnIndex;
+            hasLabels |= column.hasLabels();
+        }
+        drawBatches(canvas);
+        if (hasLabels) {
+            // Labels are drawn above all columns.
+            for (int columnIndex = firstColumnIndex; columnIndex <= lastColumnIndex; ++columnIndex) {
+                final Column column = data.getColumns().get(columnIndex);
+                if (column.hasLabels()) {
+                    processColumnForStacked(canvas, column, columnWidth, columnIndex, MODE_DRAW_LABELS);
+                }
+            }
         }
     }
 
     private void highlightColumnForStacked(Canvas canvas) {
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
+        calculateStackedSums(data);
         // Columns are indexes from 0 to n, column index is also column X value
         Column column = data.getColumns().get(selectedValue.getFirstIndex());
         processColumnForStacked(canvas, column, columnWidth, selectedValue.getFirstIndex(), MODE_HIGHLIGHT);
@@ -270,38 +404,36 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         touchedPoint.y = touchY;
         final ColumnChartData data = dataProvider.getColumnChartData();
         final float columnWidth = calculateColumnWidth();
-        int columnIndex = 0;
-        for (Column column : data.getColumns()) {
+        if (!calculateTouchedColumnsRange(touchX, touchY, columnWidth)) {
+            return;
+        }
+        calculateStackedSums(data);
+        for (int columnIndex = firstColumnIndex; columnIndex <= lastColumnIndex; ++columnIndex) {
             // canvas is not needed for checking touch
-            processColumnForStacked(null, column, columnWidth, columnIndex, MODE_CHECK_TOUCH);
-            ++columnIndex;
+            processColumnForStacked(null, data.getColumns().get(columnIndex), columnWidth, columnIndex,
+                    MODE_CHECK_TOUCH);
         }
     }
 
+    /**
+     * Processes stacked column, {@link #calculateStackedSums(ColumnChartData)} has to be called before.
+     */
     private void processColumnForStacked(Canvas canvas, Column column, float columnWidth, int columnIndex, int mode) {
         final float rawX = computator.computeRawX(columnIndex);
         final float halfColumnWidth = columnWidth / 2;
-        float mostPositiveValue = baseValue;
-        float mostNegativeValue = baseValue;
-        float subcolumnBaseValue = baseValue;
+        final int columnOffset = stackedColumnOffsets[columnIndex];
         int valueIndex = 0;
         for (SubcolumnValue columnValue : column.getValues()) {
-            columnPaint.setColor(columnValue.getColor());
-            if (columnValue.getValue() >= baseValue) {
-                // Using values instead of raw pixels make code easier to
-                // understand(for me)
-                subcolumnBaseValue = mostPositiveValue;
-                mostPositiveValue += columnValue.getValue();
-            } else {
-                subcolumnBaseValue = mostNegativeValue;
-                mostNegativeValue += columnValue.getValue();
-            }
-            final float rawBaseY = computator.computeRawY(subcolumnBaseValue);
-            final float rawY = computator.computeRawY(subcolumnBaseValue + columnValue.getValue());
+            // Using values instead of raw pixels make code easier to understand(for me)
+            final float rawBaseY = computator.computeRawY(stackedBaseValues[columnOffset + valueIndex]);
+            final float rawY = computator.computeRawY(stackedEndValues[columnOffset + valueIndex]);
             calculateRectToDraw(columnValue, rawX - halfColumnWidth, rawX + halfColumnWidth, rawBaseY, rawY);
             switch (mode) {
                 case MODE_DRAW:
-                    drawSubcolumn(canvas, column, columnValue, true);
+                    addRectToBatch(columnValue.getColor(), drawRect);
+                    break;
+                case MODE_DRAW_LABELS:
+                    drawLabel(canvas, column, columnValue, true, labelOffset);
                     break;
                 case MODE_HIGHLIGHT:
                     highlightSubcolumn(canvas, column, columnValue, valueIndex, true);
@@ -318,11 +450,45 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         }
     }
 
-    private void drawSubcolumn(Canvas canvas, Column column, SubcolumnValue columnValue, boolean isStacked) {
-        canvas.drawRect(drawRect, columnPaint);
-        if (column.hasLabels()) {
-            drawLabel(canvas, column, columnValue, isStacked, labelOffset);
+    /**
+     * Adds rect to path of given color, rects of the same color are drawn together by {@link #drawBatches(Canvas)}.
+     */
+    private void addRectToBatch(int color, RectF rect) {
+        if (lastBatchIndex >= batchesCount || batchColors[lastBatchIndex] != color) {
+            lastBatchIndex = findBatch(color);
+        }
+        batchPaths[lastBatchIndex].addRect(rect, Path.Direction.CW);
+    }
+
+    private int findBatch(int color) {
+        for (int batchIndex = 0; batchIndex < batchesCount; ++batchIndex) {
+            if (batchColors[batchIndex] == color) {
+                return batchIndex;
+            }
+        }
+        if (batchesCount == batchPaths.length) {
+            final int newLength = batchesCount * 2 + 1;
+            batchColors = Arrays.copyOf(batchColors, newLength);
+            batchPaths = Arrays.copyOf(batchPaths, newLength);
+        }
+        if (null == batchPaths[batchesCount]) {
+            batchPaths[batchesCount] = new Path();
+        }
+        batchColors[batchesCount] = color;
+        return batchesCount++;
+    }
+
+    /**
+     * Draws every collected path with single draw call per color and resets batches, paths are kept for reuse.
+     */
+    private void drawBatches(Canvas canvas) {
+        for (int batchIndex = 0; batchIndex < batchesCount; ++batchIndex) {
+            columnPaint.setColor(batchColors[batchIndex]);
+            canvas.drawPath(batchPaths[batchIndex], columnPaint);
+            batchPaths[batchIndex].reset();
         }
+        batchesCount = 0;
+        lastBatchIndex = 0;
     }
 
     private void highlightSubcolumn(Canvas canvas, Column column, SubcolumnValue columnValue, int valueIndex,
@@ -353,6 +519,105 @@ public class ColumnChartRenderer extends AbstractChartRenderer {
         return columnWidth;
     }
 
+    /**
+     * If aggregation is enabled and there are more visible columns than pixels draws columns merged into bins at least
+     * one pixel wide. Bins come from precomputed {@link ColumnSummary} level so the number of drawn rects depends only
+     * on content width.
+     *
+     * @return false if columns were not aggregated and have to be drawn normally
+     */
+    private boolean drawAggregatedColumns(Canvas canvas, ColumnChartData data) {
+        if (ColumnAggregation.NONE.equals(data.getAggregation())) {
+            return false;
+        }
+        final Viewport viewport = computator.getCurrentViewport();
+        final Rect contentRect = computator.getContentRectMinusAllMargins();
+        final float pixelsPerColumn = contentRect.width() / viewport.width();
+        if (pixelsPerColumn >= 1) {
+            return false;
+        }
+        if (!isColumnSummaryValid || columnSummaryVersion != dataVersion) {
+            columnSummary.build(data.getColumns(), data.getAggregation(), baseValue);
+            isColumnSummaryValid = true;
+            columnSummaryVersion = dataVersion;
+        }
+        if (columnSummary.getLevelsCount() == 0) {
+            return false;
+        }
+
+        // The smallest bins that are at least one pixel wide.
+        final int level = Math.max(Math.min((int) Math.ceil(Math.log(1 / pixelsPerColumn) / Math.log(2)) - 1,
+                columnSummary.getLevelsCount() - 1), 0);
+        final int binSize = columnSummary.getBinSize(level);
+        final float binWidth = binSize * pixelsPerColumn;
+        final int firstBin = Math.max((int) Math.floor(viewport.left / binSize), 0);
+        final int lastBin = Math.min((int) Math.floor(viewport.right / binSize), columnSummary.getBinsCount(level) - 1);
+        final float baseRawY = computator.computeRawY(baseValue);
+        for (int bin = firstBin; bin <= lastBin; ++bin) {
+            final float binRawX = computator.computeRawX(bin * binSize + (binSize - 1) / 2f);
+            final float binLeft = binRawX - binWidth / 2;
+            final int subcolumnsCount = columnSummary.getSubcolumnsCount(level, bin);
+            float mostPositiveValue = baseValue;
+            float mostNegativeValue = baseValue;
+            for (int subcolumn = 0; subcolumn < subcolumnsCount; ++subcolumn) {
+                final float value = columnSummary.getValue(level, bin, subcolumn);
+                final float rawBaseY;
+                final float rawY;
+                if (data.isStacked()) {
+                    final float subcolumnBaseValue = value >= baseValue ? mostPositiveValue : mostNegativeValue;
+                    if (value >= baseValue) {
+                        mostPositiveValue += value;
+                    } else {
+                        mostNegativeValue += value;
+                    }
+                    rawBaseY = computator.computeRawY(subcolumnBaseValue);
+                    rawY = computator.computeRawY(subcolumnBaseValue + value);
+                    drawRect.left = binLeft;
+                    drawRect.right = binLeft + binWidth;
+                } else {
+                    final float subcolumnWidth = binWidth / subcolumnsCount;
+                    rawBaseY = baseRawY;
+                    rawY = computator.computeRawY(value);
+                    drawRect.left = binLeft + subcolumn * subcolumnWidth;
+                    drawRect.right = drawRect.left + subcolumnWidth;
+                }
+                drawRect.top = Math.min(rawBaseY, rawY);
+                drawRect.bottom = Math.max(rawBaseY, rawY);
+                addRectToBatch(columnSummary.getColor(level, bin, subcolumn), drawRect);
+            }
+        }
+        drawBatches(canvas);
+        return true;
+    }
+
+    /**
+     * Calculates {@link #firstColumnIndex} and {@link #lastColumnIndex} of columns that intersect given range(in data
+     * units). Column X value is its index so range is computed directly, without iterating over columns. If no column
+     * intersects range lastColumnIndex is less than firstColumnIndex.
+     */
+    private void calculateColumnsRange(float left, float right, float columnWidth) {
+        final int columnsCount = dataProvider.getColumnChartData().getColumns().size();
+        // Half of column width in data units, column can be wider than distance between columns if it has minimum
+        // width.
+        final float halfColumnDataWidth = columnWidth / 2 * computator.getCurrentViewport().width()
+                / computator.getContentRectMinusAllMargins().width();
+        firstColumnIndex = Math.max((int) Math.floor(left - halfColumnDataWidth), 0);
+        lastColumnIndex = Math.min((int) Math.ceil(right + halfColumnDataWidth), columnsCount - 1);
+    }
+
+    /**
+     * Calculates range of columns that may contain touch point, usually it is only one column.
+     *
+     * @return false if touch is outside of content rect
+     */
+    private boolean calculateTouchedColumnsRange(float touchX, float touchY, float columnWidth) {
+        if (!computator.rawPixelsToDataPoint(touchX, touchY, touchedValue)) {
+            return false;
+        }
+        calculateColumnsRange(touchedValue.x, touchedValue.x, columnWidth);
+        return true;
+    }
+
     private void calculateRectToDraw(SubcolumnValue columnValue, float left, float right, float rawBaseY, float rawY) {
         // Calculate rect that will be drawn as column, subcolumn or label background.
         drawRect.left = left;
@@ -5,6 +5,7 @@ import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.LinearGradient;
+import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Paint.Cap;
 import android.graphics.Path;
@@ -17,11 +18,20 @@ import android.util.Log;
 import lecho.lib.hellocharts.model.Line;
 import lecho.lib.hellocharts.model.LineChartData;
 import lecho.lib.hellocharts.model.PointValue;
+import lecho.lib.hellocharts.model.PointValueArray;
 import lecho.lib.hellocharts.model.SelectedValue.SelectedValueType;
 import lecho.lib.hellocharts.model.ValueShape;
 import lecho.lib.hellocharts.model.Viewport;
 import lecho.lib.hellocharts.provider.LineChartDataProvider;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import lecho.lib.hellocharts.util.ChartUtils;
+import lecho.lib.hellocharts.util.CubicControlPoints;
+import lecho.lib.hellocharts.util.LineDecimator;
+import lecho.lib.hellocharts.util.PointGridIndex;
 import lecho.lib.hellocharts.view.Chart;
 
 /**
@@ -29,8 +39,27 @@ import lecho.lib.hellocharts.view.Chart;
  */
 public class LineChartRenderer extends AbstractChartRenderer {
     private static final float LINE_SMOOTHNESS = 0.16f;
+    /**
+     * Width of decimation bucket in pixels, one bucket for every pixel column.
+     */
+    private static final float DECIMATION_BUCKET_WIDTH = 1f;
     private static final int DEFAULT_LINE_STROKE_WIDTH_DP = 3;
     private static final int DEFAULT_TOUCH_TOLERANCE_MARGIN_DP = 4;
+    /**
+     * Touch index cells are at least 1/64 of the bigger chart dimension so small point radiuses don't create millions
+     * of cells.
+     */
+    private static final int MAX_TOUCH_INDEX_CELLS_PER_SIDE = 64;
+    /**
+     * Reference paths cover current viewport extended by this fraction of viewport width on each side, so panning
+     * doesn't require rebuilding them immediately.
+     */
+    private static final float REFERENCE_OVERSCAN = 1f;
+    /**
+     * Maximum zoom ratio between current and reference viewport for which reference paths are reused, beyond that
+     * transformed decimated paths lose too much precision.
+     */
+    private static final float MAX_REFERENCE_SCALE = 2f;
 
     private static final int MODE_DRAW = 0;
     private static final int MODE_HIGHLIGHT = 1;
@@ -44,14 +73,104 @@ public class LineChartRenderer extends AbstractChartRenderer {
     private int touchToleranceMargin;
     private Path path = new Path();
     private Paint linePaint = new Paint();
+    /**
+     * Paint for stamping point sprites, see {@link PointSpriteCache}.
+     */
     private Paint pointPaint = new Paint();
+    private PointSpriteCache pointSpriteCache = PointSpriteCache.getInstance();
+    /**
+     * The last used sprite and its key, points of the same line share sprite so cache lookup is done once per line.
+     */
+    private PointSpriteCache.Sprite lastPointSprite;
+    private long lastPointSpriteKey;
+    /**
+     * Raw coordinates of currently processed line stored as [x0, y0, x1, y1, ...], reused between draws.
+     */
+    private float[] rawPoints = new float[0];
+    /**
+     * Buffer owned by renderer, rawPoints points to it or to {@link RawPointsCache#points} of processed line.
+     */
+    private float[] rawPointsBuffer = new float[0];
+    /**
+     * Raw coordinates of visible values of every line shared by path, points, labels and touch passes, computed once
+     * per data and viewport change, see {@link #obtainRawPoints(Line)}.
+     */
+    private Map<Line, RawPointsCache> rawPointsCaches = new IdentityHashMap<Line, RawPointsCache>();
+    /**
+     * Line segments of currently processed line stored as [x0, y0, x1, y1, x1, y1, x2, y2, ...] for
+     * {@link Canvas#drawLines(float[], int, int, Paint)}, reused between draws.
+     */
+    private float[] lineSegments = new float[0];
+    /**
+     * Indexes of first and last value of currently processed line that have to be drawn, see
+     * {@link #calculateVisibleRange(Line)}.
+     */
+    private int firstVisibleIndex;
+    private int lastVisibleIndex;
+    private PointValue tempPointValue = new PointValue();
+    /**
+     * Control points of cubic lines in data space, computed once per data change, see
+     * {@link #obtainControlPoints(Line)}.
+     */
+    private Map<Line, ControlPointsCache> controlPointsCaches = new IdentityHashMap<Line, ControlPointsCache>();
+    /**
+     * Buffers for control points computation, values stored as [x0, y0, x1, y1, ...] and control points of decimated
+     * lines.
+     */
+    private float[] dataPoints = new float[0];
+    private float[] rawControlPoints = new float[0];
 
     private Bitmap softwareBitmap;
     private Canvas softwareCanvas = new Canvas();
     private Viewport tempMaximumViewport = new Viewport();
+    /**
+     * Extremes of lines that don't use columnar storage, calculated for {@link #listLinesViewportVersion} so appends
+     * to columnar lines don't rescan them, see {@link #onChartValuesAppended()}.
+     */
+    private Viewport listLinesViewport = new Viewport();
+    private int listLinesViewportVersion = -1;
 
-    // 임시 처리
-    private boolean initail = false;
+    /**
+     * Incremented every time chart data changes or is animated, part of the layer cache key.
+     */
+    private int dataVersion;
+    /**
+     * Layer cache key - softwareBitmap is redrawn only if data stamp, current viewport or content rect is different
+     * than those used to render it.
+     */
+    private boolean isLayerCacheValid = false;
+    private long cachedDataStamp;
+    private Viewport cachedViewport = new Viewport();
+    private Rect cachedContentRect = new Rect();
+    /**
+     * True if softwareBitmap was rendered with transformed reference paths and should be rendered precisely once
+     * viewport stops changing.
+     */
+    private boolean isLayerTransformed = false;
+
+    /**
+     * If true line paths are built once for reference viewport and only transformed with {@link #viewportMatrix}
+     * while viewport is scrolled or zoomed.
+     */
+    private boolean isViewportTransformEnabled = false;
+    private List<Path> referencePaths = new ArrayList<Path>();
+    private boolean isReferenceValid = false;
+    private long referenceDataStamp;
+    private Viewport referenceViewport = new Viewport();
+    private Rect referenceContentRect = new Rect();
+    private float referenceLeft;
+    private float referenceRight;
+    private Matrix viewportMatrix = new Matrix();
+
+    /**
+     * Screen space index of points used by {@link #checkTouch(float, float)}, built lazily for current data and
+     * viewport.
+     */
+    private PointGridIndex touchIndex = new PointGridIndex();
+    private boolean isTouchIndexValid = false;
+    private long touchIndexDataStamp;
+    private Viewport touchIndexViewport = new Viewport();
+    private Rect touchIndexContentRect = new Rect();
 
     public LineChartRenderer(Context context, Chart chart, LineChartDataProvider dataProvider) {
         super(context, chart);
@@ -64,9 +183,6 @@ public class LineChartRenderer extends AbstractChartRenderer {
         linePaint.setStrokeCap(Cap.ROUND);
         linePaint.setStrokeWidth(ChartUtils.dp2px(density, DEFAULT_LINE_STROKE_WIDTH_DP));
 
-        pointPaint.setAntiAlias(true);
-        pointPaint.setStyle(Paint.Style.FILL);
-
         checkPrecision = ChartUtils.dp2px(density, 2);
 
     }
@@ -80,6 +196,9 @@ public class LineChartRenderer extends AbstractChartRenderer {
                     Bitmap.Config.ARGB_8888);
             softwareCanvas.setBitmap(softwareBitmap);
         }
+        isLayerCacheValid = false;
+        isReferenceValid = false;
+        isTouchIndexValid = false;
     }
 
     @Override
@@ -89,12 +208,16 @@ public class LineChartRenderer extends AbstractChartRenderer {
         computator.insetContentRectByInternalMargins(internalMargin, internalMargin,
                 internalMargin, internalMargin);
         baseValue = dataProvider.getLineChartData().getBaseValue();
+        controlPointsCaches.clear();
+        rawPointsCaches.clear();
 
         onChartViewportChanged();
     }
 
     @Override
     public void onChartViewportChanged() {
+        // Called when data changed or during data animation.
+        ++dataVersion;
         if (isViewportCalculationEnabled) {
             calculateMaxViewport();
             computator.setMaxViewport(tempMaximumViewport);
@@ -102,42 +225,229 @@ public class LineChartRenderer extends AbstractChartRenderer {
         }
     }
 
+    /**
+     * Called when values were appended to columnar storage of lines, see {@link PointValueArray#add(float, float)}.
+     * Unlike {@link #onChartViewportChanged()} data version is not changed so caches of lines that didn't change stay
+     * valid, caches of modified lines are invalidated by versions of their arrays. Max viewport is calculated from
+     * cached extremes of arrays, other lines are scanned only if data changed since their last scan.
+     */
+    public void onChartValuesAppended() {
+        if (isViewportCalculationEnabled) {
+            if (listLinesViewportVersion != dataVersion) {
+                calculateMaxViewport();
+            } else {
+                calculateValueArraysMaxViewport();
+            }
+            computator.setMaxViewport(tempMaximumViewport);
+            computator.setCurrentViewport(computator.getMaximumViewport());
+        }
+    }
+
     @Override
     public void draw(Canvas canvas) {
-        final LineChartData data = dataProvider.getLineChartData();
-
-        final Canvas drawCanvas;
-
         // softwareBitmap can be null if chart is rendered in layout editor. In that case use default canvas and not
         // softwareCanvas.
-        if (null != softwareBitmap) {
-            if (!initail) {
-                initail = true;
-                drawCanvas = softwareCanvas;
-                drawCanvas.drawColor(Color.TRANSPARENT, Mode.CLEAR);
+        if (null == softwareBitmap) {
+            drawLines(canvas);
+            return;
+        }
+
+        final long dataStamp = computeDataStamp();
+        if (!isLayerCacheValid(dataStamp)) {
+            softwareCanvas.drawColor(Color.TRANSPARENT, Mode.CLEAR);
+            if (isViewportTransformEnabled) {
+                drawTransformedLines(softwareCanvas, dataStamp);
             } else {
-                canvas.drawBitmap(softwareBitmap, 0, 0, null);
-                return;
+                drawLines(softwareCanvas);
+                isLayerTransformed = false;
+            }
+            isLayerCacheValid = true;
+            cachedDataStamp = dataStamp;
+            cachedViewport.set(computator.getCurrentViewport());
+            cachedContentRect.set(computator.getContentRectMinusAllMargins());
+        }
+        canvas.drawBitmap(softwareBitmap, 0, 0, null);
+    }
+
+    /**
+     * Forces lines to be redrawn in the next frame, call it if line attributes(color, stroke etc.) were modified
+     * without setting chart data again.
+     */
+    public void invalidateLayerCache() {
+        isLayerCacheValid = false;
+        isReferenceValid = false;
+        isTouchIndexValid = false;
+    }
+
+    public boolean isViewportTransformEnabled() {
+        return isViewportTransformEnabled;
+    }
+
+    /**
+     * Set true to enable fast scrolling and zooming of big lines. Line paths are built for reference viewport(extended
+     * by overscan) and while only current viewport changes they are transformed with matrix instead of being rebuilt
+     * point by point. Paths are rebuilt precisely when viewport stops changing, when it leaves area covered by
+     * reference paths or when zoom ratio becomes too big. Works only if chart is rendered with software layer, it is
+     * disabled by default.
+     */
+    public void setViewportTransformEnabled(boolean isEnabled) {
+        this.isViewportTransformEnabled = isEnabled;
+        invalidateLayerCache();
+    }
+
+    private boolean isLayerCacheValid(long dataStamp) {
+        // Transformed layer is not reused, the next frame with the same viewport redraws it precisely.
+        return isLayerCacheValid && !isLayerTransformed && cachedDataStamp == dataStamp
+                && cachedViewport.equals(computator.getCurrentViewport())
+                && cachedContentRect.equals(computator.getContentRectMinusAllMargins());
+    }
+
+    /**
+     * Combines renderer data version with versions of lines columnar storages so values appended directly to
+     * {@link PointValueArray} also invalidate layer cache.
+     */
+    private long computeDataStamp() {
+        long dataStamp = dataVersion;
+        for (Line line : dataProvider.getLineChartData().getLines()) {
+            final PointValueArray valueArray = line.getValueArray();
+            if (null != valueArray) {
+                dataStamp = 31 * dataStamp + valueArray.getVersion();
             }
-        } else {
-            drawCanvas = canvas;
         }
+        return dataStamp;
+    }
 
+    private void drawLines(Canvas drawCanvas) {
+        final LineChartData data = dataProvider.getLineChartData();
+        final Viewport viewport = computator.getCurrentViewport();
         for (Line line : data.getLines()) {
             if (line.hasLines()) {
-                if (line.isCubic()) {
-                    drawSmoothPath(drawCanvas, line);
-                } else if (line.isSquare()) {
-                    drawSquarePath(drawCanvas, line);
+                if (checkIfShouldDrawSegments(line)) {
+                    drawSegments(drawCanvas, line, viewport.left, viewport.right);
                 } else {
-                    drawPath(drawCanvas, line);
+                    buildLinePath(path, line, viewport.left, viewport.right);
+                    drawLinePath(drawCanvas, line);
                 }
             }
         }
+    }
 
-        if (null != softwareBitmap) {
-            canvas.drawBitmap(softwareBitmap, 0, 0, null);
+    /**
+     * Plain lines are drawn with {@link Canvas#drawLines(float[], int, int, Paint)} which is much faster than
+     * drawing path with many segments. Segments are drawn separately so it can't be used for filled, cubic, square or
+     * dashed lines, also for translucent lines because overlapping segment ends would be visible.
+     */
+    private boolean checkIfShouldDrawSegments(Line line) {
+        return !line.isFilled() && !line.isCubic() && !line.isSquare() && null == line.getPathEffect()
+                && Color.alpha(line.getColor()) == 255;
+    }
+
+    private void drawSegments(Canvas canvas, final Line line, float visibleLeft, float visibleRight) {
+        if (!line.visibleLines()) {
+            return;
+        }
+        final int pointsNumber = computeRawPoints(line, visibleLeft, visibleRight);
+        if (pointsNumber < 2) {
+            return;
         }
+        final int segmentsLength = (pointsNumber - 1) * 4;
+        if (lineSegments.length < segmentsLength) {
+            lineSegments = new float[segmentsLength];
+        }
+        for (int pointIndex = 1; pointIndex < pointsNumber; ++pointIndex) {
+            final int segmentIndex = (pointIndex - 1) * 4;
+            lineSegments[segmentIndex] = rawPoints[pointIndex * 2 - 2];
+            lineSegments[segmentIndex + 1] = rawPoints[pointIndex * 2 - 1];
+            lineSegments[segmentIndex + 2] = rawPoints[pointIndex * 2];
+            lineSegments[segmentIndex + 3] = rawPoints[pointIndex * 2 + 1];
+        }
+        prepareLinePaint(line);
+        canvas.drawLines(lineSegments, 0, segmentsLength, linePaint);
+    }
+
+    /**
+     * Draws lines using reference paths transformed to current viewport, reference paths are rebuilt if they are not
+     * valid for current data and viewport.
+     */
+    private void drawTransformedLines(Canvas drawCanvas, long dataStamp) {
+        final LineChartData data = dataProvider.getLineChartData();
+        if (!checkReferencePaths(dataStamp)) {
+            buildReferencePaths(data, dataStamp);
+        }
+        computeViewportMatrix();
+        isLayerTransformed = !viewportMatrix.isIdentity();
+
+        int lineIndex = 0;
+        for (Line line : data.getLines()) {
+            if (line.hasLines()) {
+                referencePaths.get(lineIndex).transform(viewportMatrix, path);
+                drawLinePath(drawCanvas, line);
+            }
+            ++lineIndex;
+        }
+    }
+
+    private boolean checkReferencePaths(long dataStamp) {
+        if (!isReferenceValid || referenceDataStamp != dataStamp
+                || !referenceContentRect.equals(computator.getContentRectMinusAllMargins())) {
+            return false;
+        }
+        final Viewport viewport = computator.getCurrentViewport();
+        if (isLayerTransformed && cachedViewport.equals(viewport)) {
+            // Viewport stopped changing, rebuild paths to draw them precisely.
+            return false;
+        }
+        if (viewport.left < referenceLeft || viewport.right > referenceRight) {
+            return false;
+        }
+        final float scaleX = referenceViewport.width() / viewport.width();
+        final float scaleY = referenceViewport.height() / viewport.height();
+        return isReferenceScaleValid(scaleX) && isReferenceScaleValid(scaleY);
+    }
+
+    private boolean isReferenceScaleValid(float scale) {
+        return scale <= MAX_REFERENCE_SCALE && scale >= 1 / MAX_REFERENCE_SCALE;
+    }
+
+    private void buildReferencePaths(LineChartData data, long dataStamp) {
+        final Viewport viewport = computator.getCurrentViewport();
+        final float overscan = viewport.width() * REFERENCE_OVERSCAN;
+        referenceLeft = viewport.left - overscan;
+        referenceRight = viewport.right + overscan;
+        referenceViewport.set(viewport);
+        referenceContentRect.set(computator.getContentRectMinusAllMargins());
+        referenceDataStamp = dataStamp;
+        isReferenceValid = true;
+
+        final List<Line> lines = data.getLines();
+        while (referencePaths.size() < lines.size()) {
+            referencePaths.add(new Path());
+        }
+        for (int lineIndex = 0; lineIndex < lines.size(); ++lineIndex) {
+            final Path referencePath = referencePaths.get(lineIndex);
+            referencePath.reset();
+            final Line line = lines.get(lineIndex);
+            if (line.hasLines()) {
+                buildLinePath(referencePath, line, referenceLeft, referenceRight);
+            }
+        }
+    }
+
+    /**
+     * Computes matrix that maps raw coordinates computed for reference viewport to raw coordinates for current
+     * viewport. Content rect is the same for both viewports so mapping is only scale and translation.
+     */
+    private void computeViewportMatrix() {
+        final Viewport viewport = computator.getCurrentViewport();
+        final Rect contentRect = computator.getContentRectMinusAllMargins();
+        final float scaleX = referenceViewport.width() / viewport.width();
+        final float scaleY = referenceViewport.height() / viewport.height();
+        final float translateX = contentRect.left + computator.computeRawDistanceX(referenceViewport.left -
+                viewport.left) - contentRect.left * scaleX;
+        final float translateY = contentRect.bottom - computator.computeRawDistanceY(referenceViewport.bottom -
+                viewport.bottom) - contentRect.bottom * scaleY;
+        viewportMatrix.setScale(scaleX, scaleY);
+        viewportMatrix.postTranslate(translateX, translateY);
     }
 
     @Override
@@ -157,30 +467,71 @@ public class LineChartRenderer extends AbstractChartRenderer {
     }
 
     private boolean checkIfShouldDrawPoints(Line line) {
-        return line.hasPoints() || line.getValues().size() == 1;
+        return line.hasPoints() || line.getValuesCount() == 1;
     }
 
+    /**
+     * Selects point nearest to touch coordinates, uses {@link #touchIndex} so only points close to touch are checked.
+     */
     @Override
     public boolean checkTouch(float touchX, float touchY) {
         selectedValue.clear();
+        final long dataStamp = computeDataStamp();
+        if (!isTouchIndexValid || touchIndexDataStamp != dataStamp
+                || !touchIndexViewport.equals(computator.getCurrentViewport())
+                || !touchIndexContentRect.equals(computator.getContentRectMinusAllMargins())) {
+            buildTouchIndex();
+            isTouchIndexValid = true;
+            touchIndexDataStamp = dataStamp;
+            touchIndexViewport.set(computator.getCurrentViewport());
+            touchIndexContentRect.set(computator.getContentRectMinusAllMargins());
+        }
+        final int position = touchIndex.findNearest(touchX, touchY);
+        if (position >= 0) {
+            selectedValue.set(touchIndex.getFirstIndex(position), touchIndex.getSecondIndex(position),
+                    SelectedValueType.LINE);
+        }
+        return isTouched();
+    }
+
+    private void buildTouchIndex() {
         final LineChartData data = dataProvider.getLineChartData();
+        // Point is hit if touch is within sqrt(2) * (radius + tolerance) from it.
+        float maxTouchRadius = 0;
+        for (Line line : data.getLines()) {
+            if (checkIfShouldDrawPoints(line)) {
+                maxTouchRadius = Math.max(maxTouchRadius, calculateTouchRadius(line));
+            }
+        }
+        if (maxTouchRadius == 0) {
+            // No line draws points so nothing can be hit.
+            touchIndex.clear();
+            return;
+        }
+        final float minCellSize = (float) Math.max(computator.getChartWidth(), computator.getChartHeight())
+                / MAX_TOUCH_INDEX_CELLS_PER_SIDE;
+        final float cellSize = Math.max(maxTouchRadius, Math.max(minCellSize, 1));
+        touchIndex.reset(-cellSize, -cellSize, computator.getChartWidth() + cellSize,
+                computator.getChartHeight() + cellSize, cellSize);
+
         int lineIndex = 0;
         for (Line line : data.getLines()) {
             if (checkIfShouldDrawPoints(line)) {
-                int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
-                int valueIndex = 0;
-                for (PointValue pointValue : line.getValues()) {
-                    final float rawValueX = computator.computeRawX(pointValue.getX());
-                    final float rawValueY = computator.computeRawY(pointValue.getY());
-                    if (isInArea(rawValueX, rawValueY, touchX, touchY, pointRadius + touchToleranceMargin)) {
-                        selectedValue.set(lineIndex, valueIndex, SelectedValueType.LINE);
-                    }
-                    ++valueIndex;
+                final float touchRadius = calculateTouchRadius(line);
+                final RawPointsCache lineRawPoints = obtainRawPoints(line);
+                for (int valueIndex = firstVisibleIndex; valueIndex <= lastVisibleIndex; ++valueIndex) {
+                    final int rawIndex = (valueIndex - firstVisibleIndex) * 2;
+                    touchIndex.add(lineRawPoints.points[rawIndex], lineRawPoints.points[rawIndex + 1], touchRadius,
+                            lineIndex, valueIndex);
                 }
             }
             ++lineIndex;
         }
-        return isTouched();
+        touchIndex.build();
+    }
+
+    private float calculateTouchRadius(Line line) {
+        return (float) ((ChartUtils.dp2px(density, line.getPointRadius()) + touchToleranceMargin) * Math.sqrt(2));
     }
 
     private void calculateMaxViewport() {
@@ -188,23 +539,65 @@ public class LineChartRenderer extends AbstractChartRenderer {
         LineChartData data = dataProvider.getLineChartData();
 
         for (Line line : data.getLines()) {
+            final int valuesCount = line.getValuesCount();
+            if (null != line.getValueArray()) {
+                // Columnar lines are included by calculateValueArraysMaxViewport().
+                continue;
+            }
+            if (line.isSortedByX() && valuesCount > 0) {
+                // For sorted line X extremes are the first and the last value, only Y has to be scanned.
+                tempMaximumViewport.left = Math.min(tempMaximumViewport.left, line.getValueX(0));
+                tempMaximumViewport.right = Math.max(tempMaximumViewport.right, line.getValueX(valuesCount - 1));
+                for (int valueIndex = 0; valueIndex < valuesCount; ++valueIndex) {
+                    final float valueY = line.getValueY(valueIndex);
+                    if (valueY < tempMaximumViewport.bottom) {
+                        tempMaximumViewport.bottom = valueY;
+                    }
+                    if (valueY > tempMaximumViewport.top) {
+                        tempMaximumViewport.top = valueY;
+                    }
+                }
+                continue;
+            }
             // Calculate max and min for viewport.
-            for (PointValue pointValue : line.getValues()) {
-                if (pointValue.getX() < tempMaximumViewport.left) {
-                    tempMaximumViewport.left = pointValue.getX();
+            for (int valueIndex = 0; valueIndex < valuesCount; ++valueIndex) {
+                final float valueX = line.getValueX(valueIndex);
+                final float valueY = line.getValueY(valueIndex);
+                if (valueX < tempMaximumViewport.left) {
+                    tempMaximumViewport.left = valueX;
                 }
-                if (pointValue.getX() > tempMaximumViewport.right) {
-                    tempMaximumViewport.right = pointValue.getX();
+                if (valueX > tempMaximumViewport.right) {
+                    tempMaximumViewport.right = valueX;
                 }
-                if (pointValue.getY() < tempMaximumViewport.bottom) {
-                    tempMaximumViewport.bottom = pointValue.getY();
+                if (valueY < tempMaximumViewport.bottom) {
+                    tempMaximumViewport.bottom = valueY;
                 }
-                if (pointValue.getY() > tempMaximumViewport.top) {
-                    tempMaximumViewport.top = pointValue.getY();
+                if (valueY > tempMaximumViewport.top) {
+                    tempMaximumViewport.top = valueY;
                 }
 
             }
         }
+        listLinesViewport.set(tempMaximumViewport);
+        listLinesViewportVersion = dataVersion;
+        calculateValueArraysMaxViewport();
+    }
+
+    /**
+     * Sets max viewport to extremes of list backed lines extended by extremes of columnar lines. Columnar storage
+     * keeps its extremes cached, for ring buffers they are updated incrementally, so this is O(lines).
+     */
+    private void calculateValueArraysMaxViewport() {
+        tempMaximumViewport.set(listLinesViewport);
+        for (Line line : dataProvider.getLineChartData().getLines()) {
+            final PointValueArray valueArray = line.getValueArray();
+            if (null != valueArray && !valueArray.isEmpty()) {
+                tempMaximumViewport.left = Math.min(tempMaximumViewport.left, valueArray.getMinX());
+                tempMaximumViewport.right = Math.max(tempMaximumViewport.right, valueArray.getMaxX());
+                tempMaximumViewport.bottom = Math.min(tempMaximumViewport.bottom, valueArray.getMinY());
+                tempMaximumViewport.top = Math.max(tempMaximumViewport.top, valueArray.getMaxY());
+            }
+        }
     }
 
     private int calculateContentRectInternalMargin() {
@@ -222,26 +615,23 @@ public class LineChartRenderer extends AbstractChartRenderer {
     }
 
     /**
-     * Draws lines, uses path for drawing filled area on software canvas. Line is drawn with canvas.drawLines() method.
+     * Builds line path from raw coordinates of visible points, see {@link #computeRawPoints(Line, float, float)}.
      */
-    private void drawPath(Canvas canvas, final Line line) {
-        prepareLinePaint(line);
-
-        int valueIndex = 0;
-        for (PointValue pointValue : line.getValues()) {
-
-            final float rawX = computator.computeRawX(pointValue.getX());
-            final float rawY = computator.computeRawY(pointValue.getY());
-
-            if (valueIndex == 0) {
-                path.moveTo(rawX, rawY);
-            } else {
-                path.lineTo(rawX, rawY);
-            }
-
-            ++valueIndex;
-
+    private void buildLinePath(Path path, final Line line, float visibleLeft, float visibleRight) {
+        if (line.isCubic()) {
+            buildSmoothPath(path, line, visibleLeft, visibleRight);
+        } else if (line.isSquare()) {
+            buildSquarePath(path, line, visibleLeft, visibleRight);
+        } else {
+            buildPath(path, line, visibleLeft, visibleRight);
         }
+    }
+
+    /**
+     * Draws line and filled area using path that is already stored in {@link #path}, path is reset afterwards.
+     */
+    private void drawLinePath(Canvas canvas, final Line line) {
+        prepareLinePaint(line);
 
         if (line.visibleLines()) {
             canvas.drawPath(path, linePaint);
@@ -254,17 +644,28 @@ public class LineChartRenderer extends AbstractChartRenderer {
         path.reset();
     }
 
-    private void drawSquarePath(Canvas canvas, final Line line) {
-        prepareLinePaint(line);
+    private void buildPath(Path path, final Line line, float visibleLeft, float visibleRight) {
+        final int pointsNumber = computeRawPoints(line, visibleLeft, visibleRight);
+        for (int pointIndex = 0; pointIndex < pointsNumber; ++pointIndex) {
+            final float rawX = rawPoints[pointIndex * 2];
+            final float rawY = rawPoints[pointIndex * 2 + 1];
 
-        int valueIndex = 0;
-        float previousRawY = 0;
-        for (PointValue pointValue : line.getValues()) {
+            if (pointIndex == 0) {
+                path.moveTo(rawX, rawY);
+            } else {
+                path.lineTo(rawX, rawY);
+            }
+        }
+    }
 
-            final float rawX = computator.computeRawX(pointValue.getX());
-            final float rawY = computator.computeRawY(pointValue.getY());
+    private void buildSquarePath(Path path, final Line line, float visibleLeft, float visibleRight) {
+        final int pointsNumber = computeRawPoints(line, visibleLeft, visibleRight);
+        float previousRawY = 0;
+        for (int pointIndex = 0; pointIndex < pointsNumber; ++pointIndex) {
+            final float rawX = rawPoints[pointIndex * 2];
+            final float rawY = rawPoints[pointIndex * 2 + 1];
 
-            if (valueIndex == 0) {
+            if (pointIndex == 0) {
                 path.moveTo(rawX, rawY);
             } else {
                 path.lineTo(rawX, previousRawY);
@@ -272,107 +673,244 @@ public class LineChartRenderer extends AbstractChartRenderer {
             }
 
             previousRawY = rawY;
+        }
+    }
 
-            ++valueIndex;
-
+    /**
+     * Builds cubic path. Control points are computed in data space once per data change and only transformed to raw
+     * coordinates here. For decimated lines points differ for every viewport so control points are computed from raw
+     * points.
+     */
+    private void buildSmoothPath(Path path, final Line line, float visibleLeft, float visibleRight) {
+        if (line.isDecimated()) {
+            final int pointsNumber = computeRawPoints(line, visibleLeft, visibleRight);
+            if (rawControlPoints.length < pointsNumber * 4) {
+                rawControlPoints = new float[pointsNumber * 4];
+            }
+            computeControlPoints(line, rawPoints, pointsNumber, rawControlPoints);
+            for (int pointIndex = 0; pointIndex < pointsNumber; ++pointIndex) {
+                final float rawX = rawPoints[pointIndex * 2];
+                final float rawY = rawPoints[pointIndex * 2 + 1];
+                if (pointIndex == 0) {
+                    path.moveTo(rawX, rawY);
+                } else {
+                    path.cubicTo(rawControlPoints[pointIndex * 4], rawControlPoints[pointIndex * 4 + 1],
+                            rawControlPoints[pointIndex * 4 + 2], rawControlPoints[pointIndex * 4 + 3], rawX, rawY);
+                }
+            }
+            return;
         }
 
-        if (line.visibleLines()) {
-            canvas.drawPath(path, linePaint);
+        final float[] controlPoints = obtainControlPoints(line);
+        computeRawPoints(line, visibleLeft, visibleRight);
+        for (int valueIndex = firstVisibleIndex; valueIndex <= lastVisibleIndex; ++valueIndex) {
+            final int rawIndex = (valueIndex - firstVisibleIndex) * 2;
+            final float rawX = rawPoints[rawIndex];
+            final float rawY = rawPoints[rawIndex + 1];
+            if (valueIndex == firstVisibleIndex) {
+                path.moveTo(rawX, rawY);
+            } else {
+                final int controlIndex = valueIndex * 4;
+                path.cubicTo(computator.computeRawX(controlPoints[controlIndex]),
+                        computator.computeRawY(controlPoints[controlIndex + 1]),
+                        computator.computeRawX(controlPoints[controlIndex + 2]),
+                        computator.computeRawY(controlPoints[controlIndex + 3]), rawX, rawY);
+            }
         }
+    }
 
-        if (line.isFilled()) {
-            drawArea(canvas, line);
+    /**
+     * Returns data space control points of given cubic line, they are recomputed only if line values changed.
+     */
+    private float[] obtainControlPoints(Line line) {
+        final long dataStamp = computeLineStamp(line);
+        ControlPointsCache cache = controlPointsCaches.get(line);
+        if (null == cache) {
+            cache = new ControlPointsCache();
+            controlPointsCaches.put(line, cache);
+        } else if (cache.isValid && cache.dataStamp == dataStamp && cache.isMonotone == line.isMonotoneCubic()) {
+            return cache.controlPoints;
         }
 
-        path.reset();
+        final int valuesCount = line.getValuesCount();
+        if (dataPoints.length < valuesCount * 2) {
+            dataPoints = new float[valuesCount * 2];
+        }
+        for (int valueIndex = 0; valueIndex < valuesCount; ++valueIndex) {
+            dataPoints[valueIndex * 2] = line.getValueX(valueIndex);
+            dataPoints[valueIndex * 2 + 1] = line.getValueY(valueIndex);
+        }
+        if (cache.controlPoints.length < valuesCount * 4) {
+            cache.controlPoints = new float[valuesCount * 4];
+        }
+        computeControlPoints(line, dataPoints, valuesCount, cache.controlPoints);
+        cache.isValid = true;
+        cache.dataStamp = dataStamp;
+        cache.isMonotone = line.isMonotoneCubic();
+        return cache.controlPoints;
     }
 
-    private void drawSmoothPath(Canvas canvas, final Line line) {
-        prepareLinePaint(line);
+    private void computeControlPoints(Line line, float[] points, int pointsNumber, float[] outControlPoints) {
+        if (line.isMonotoneCubic()) {
+            CubicControlPoints.computeMonotone(points, pointsNumber, outControlPoints);
+        } else {
+            CubicControlPoints.computeSmooth(points, pointsNumber, LINE_SMOOTHNESS, outControlPoints);
+        }
+    }
 
-        final int lineSize = line.getValues().size();
-        float prePreviousPointX = Float.NaN;
-        float prePreviousPointY = Float.NaN;
-        float previousPointX = Float.NaN;
-        float previousPointY = Float.NaN;
-        float currentPointX = Float.NaN;
-        float currentPointY = Float.NaN;
-        float nextPointX = Float.NaN;
-        float nextPointY = Float.NaN;
-
-        for (int valueIndex = 0; valueIndex < lineSize; ++valueIndex) {
-            if (Float.isNaN(currentPointX)) {
-                PointValue linePoint = line.getValues().get(valueIndex);
-                currentPointX = computator.computeRawX(linePoint.getX());
-                currentPointY = computator.computeRawY(linePoint.getY());
-            }
-            if (Float.isNaN(previousPointX)) {
-                if (valueIndex > 0) {
-                    PointValue linePoint = line.getValues().get(valueIndex - 1);
-                    previousPointX = computator.computeRawX(linePoint.getX());
-                    previousPointY = computator.computeRawY(linePoint.getY());
-                } else {
-                    previousPointX = currentPointX;
-                    previousPointY = currentPointY;
-                }
+    /**
+     * Sets {@link #rawPoints} to raw coordinates of line points between visibleLeft and visibleRight(in data units)
+     * stored as [x0, y0, x1, y1, ...]. For current viewport shared {@link RawPointsCache} is used. If line is
+     * decimated points are reduced to at most {@link LineDecimator#MAX_POINTS_PER_BUCKET} per pixel column, in that
+     * case point index doesn't match value index.
+     *
+     * @return number of points stored in rawPoints
+     */
+    private int computeRawPoints(final Line line, float visibleLeft, float visibleRight) {
+        final Viewport viewport = computator.getCurrentViewport();
+        final int valuesNumber;
+        final float[] sourcePoints;
+        if (visibleLeft == viewport.left && visibleRight == viewport.right) {
+            sourcePoints = obtainRawPoints(line).points;
+            valuesNumber = lastVisibleIndex - firstVisibleIndex + 1;
+            if (!line.isDecimated()) {
+                rawPoints = sourcePoints;
+                return valuesNumber;
             }
+            ensureRawPointsBuffer(valuesNumber);
+        } else {
+            calculateVisibleRange(line, visibleLeft, visibleRight);
+            valuesNumber = lastVisibleIndex - firstVisibleIndex + 1;
+            ensureRawPointsBuffer(valuesNumber);
+            fillRawPoints(line, rawPointsBuffer);
+            sourcePoints = rawPointsBuffer;
+        }
 
-            if (Float.isNaN(prePreviousPointX)) {
-                if (valueIndex > 1) {
-                    PointValue linePoint = line.getValues().get(valueIndex - 2);
-                    prePreviousPointX = computator.computeRawX(linePoint.getX());
-                    prePreviousPointY = computator.computeRawY(linePoint.getY());
-                } else {
-                    prePreviousPointX = previousPointX;
-                    prePreviousPointY = previousPointY;
-                }
-            }
+        rawPoints = rawPointsBuffer;
+        if (line.isDecimated()) {
+            // Decimation can be done in place, see LineDecimator.
+            return LineDecimator.decimate(sourcePoints, valuesNumber, DECIMATION_BUCKET_WIDTH, rawPoints);
+        }
+        return valuesNumber;
+    }
 
-            // nextPoint is always new one or it is equal currentPoint.
-            if (valueIndex < lineSize - 1) {
-                PointValue linePoint = line.getValues().get(valueIndex + 1);
-                nextPointX = computator.computeRawX(linePoint.getX());
-                nextPointY = computator.computeRawY(linePoint.getY());
-            } else {
-                nextPointX = currentPointX;
-                nextPointY = currentPointY;
-            }
+    private void ensureRawPointsBuffer(int pointsNumber) {
+        if (rawPointsBuffer.length < pointsNumber * 2) {
+            rawPointsBuffer = new float[pointsNumber * 2];
+        }
+    }
 
-            if (valueIndex == 0) {
-                // Move to start point.
-                path.moveTo(currentPointX, currentPointY);
-            } else {
-                // Calculate control points.
-                final float firstDiffX = (currentPointX - prePreviousPointX);
-                final float firstDiffY = (currentPointY - prePreviousPointY);
-                final float secondDiffX = (nextPointX - previousPointX);
-                final float secondDiffY = (nextPointY - previousPointY);
-                final float firstControlPointX = previousPointX + (LINE_SMOOTHNESS * firstDiffX);
-                final float firstControlPointY = previousPointY + (LINE_SMOOTHNESS * firstDiffY);
-                final float secondControlPointX = currentPointX - (LINE_SMOOTHNESS * secondDiffX);
-                final float secondControlPointY = currentPointY - (LINE_SMOOTHNESS * secondDiffY);
-                path.cubicTo(firstControlPointX, firstControlPointY, secondControlPointX, secondControlPointY,
-                        currentPointX, currentPointY);
-            }
+    /**
+     * Computes raw coordinates of values from {@link #firstVisibleIndex} to {@link #lastVisibleIndex}.
+     */
+    private void fillRawPoints(final Line line, float[] outPoints) {
+        final int valuesNumber = lastVisibleIndex - firstVisibleIndex + 1;
+        for (int pointIndex = 0; pointIndex < valuesNumber; ++pointIndex) {
+            final int valueIndex = firstVisibleIndex + pointIndex;
+            outPoints[pointIndex * 2] = computator.computeRawX(line.getValueX(valueIndex));
+            outPoints[pointIndex * 2 + 1] = computator.computeRawY(line.getValueY(valueIndex));
+        }
+    }
 
-            // Shift values by one back to prevent recalculation of values that have
-            // been already calculated.
-            prePreviousPointX = previousPointX;
-            prePreviousPointY = previousPointY;
-            previousPointX = currentPointX;
-            previousPointY = currentPointY;
-            currentPointX = nextPointX;
-            currentPointY = nextPointY;
+    /**
+     * Returns raw coordinates of values visible in current viewport, point at index 0 is value at
+     * {@link #firstVisibleIndex}. Coordinates are recomputed only if line values, viewport or content rect changed,
+     * {@link #firstVisibleIndex} and {@link #lastVisibleIndex} are always set for given line.
+     */
+    private RawPointsCache obtainRawPoints(Line line) {
+        final long dataStamp = computeLineStamp(line);
+        final Viewport viewport = computator.getCurrentViewport();
+        final Rect contentRect = computator.getContentRectMinusAllMargins();
+        RawPointsCache cache = rawPointsCaches.get(line);
+        if (null == cache) {
+            cache = new RawPointsCache();
+            rawPointsCaches.put(line, cache);
+        } else if (cache.isValid && cache.dataStamp == dataStamp && cache.viewport.equals(viewport)
+                && cache.contentRect.equals(contentRect)) {
+            firstVisibleIndex = cache.firstIndex;
+            lastVisibleIndex = cache.lastIndex;
+            return cache;
         }
 
-        if (line.visibleLines()) {
-            canvas.drawPath(path, linePaint);
+        calculateVisibleRange(line);
+        final int valuesNumber = lastVisibleIndex - firstVisibleIndex + 1;
+        if (cache.points.length < valuesNumber * 2) {
+            cache.points = new float[valuesNumber * 2];
         }
-        if (line.isFilled()) {
-            drawArea(canvas, line);
+        fillRawPoints(line, cache.points);
+        cache.firstIndex = firstVisibleIndex;
+        cache.lastIndex = lastVisibleIndex;
+        cache.dataStamp = dataStamp;
+        cache.viewport.set(viewport);
+        cache.contentRect.set(contentRect);
+        cache.isValid = true;
+        return cache;
+    }
+
+    /**
+     * Returns number that changes every time values of given line change.
+     */
+    private long computeLineStamp(Line line) {
+        final PointValueArray valueArray = line.getValueArray();
+        return 31L * dataVersion + (null == valueArray ? 0 : valueArray.getVersion());
+    }
+
+    /**
+     * Calculates {@link #firstVisibleIndex} and {@link #lastVisibleIndex} for given line. For lines sorted by X binary
+     * search is used to find values within current viewport, one additional value is included on each side so
+     * segments that cross viewport edges are still drawn. For not sorted lines the whole line is visible.
+     */
+    private void calculateVisibleRange(final Line line) {
+        final Viewport viewport = computator.getCurrentViewport();
+        calculateVisibleRange(line, viewport.left, viewport.right);
+    }
+
+    /**
+     * Same as {@link #calculateVisibleRange(Line)} but for given X range instead of current viewport.
+     */
+    private void calculateVisibleRange(final Line line, float visibleLeft, float visibleRight) {
+        final int valuesCount = line.getValuesCount();
+        firstVisibleIndex = 0;
+        lastVisibleIndex = valuesCount - 1;
+        if (!line.isSortedByX() || valuesCount == 0) {
+            return;
         }
-        path.reset();
+        firstVisibleIndex = Math.max(findFirstIndexNotLess(line, visibleLeft) - 1, 0);
+        lastVisibleIndex = Math.min(findFirstIndexGreater(line, visibleRight), valuesCount - 1);
+    }
+
+    /**
+     * Returns index of the first value with X greater or equal to given x or values count if there is no such value.
+     */
+    private static int findFirstIndexNotLess(Line line, float x) {
+        int low = 0;
+        int high = line.getValuesCount();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (line.getValueX(middle) < x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns index of the first value with X greater than given x or values count if there is no such value.
+     */
+    private static int findFirstIndexGreater(Line line, float x) {
+        int low = 0;
+        int high = line.getValuesCount();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (line.getValueX(middle) <= x) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     private void prepareLinePaint(final Line line) {
@@ -381,101 +919,78 @@ public class LineChartRenderer extends AbstractChartRenderer {
         linePaint.setPathEffect(line.getPathEffect());
     }
 
-    // TODO Drawing points can be done in the same loop as drawing lines but it
-    // may cause problems in the future with
-    // implementing point styles.
+    /**
+     * Draws or highlights points, raw coordinates are shared with path and touch passes, see
+     * {@link #obtainRawPoints(Line)}.
+     */
     private void drawPoints(Canvas canvas, Line line, int lineIndex, int mode) {
-        pointPaint.setColor(line.getPointColor());
-        int valueIndex = 0;
         int first = 0;
-        int last = line.getValues().size() - 1;
+        int last = line.getValuesCount() - 1;
 
-        for (int i = 0; i < line.getValues().size(); i++) {
-            PointValue pointValue = line.getValues().get(i);
+        final float[] lineRawPoints = obtainRawPoints(line).points;
+        for (int i = firstVisibleIndex; i <= lastVisibleIndex; i++) {
             if (!line.isUseFirstPoint() && i == first && mode == MODE_DRAW) continue;
 
             int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
-            final float rawX = computator.computeRawX(pointValue.getX());
-            final float rawY = computator.computeRawY(pointValue.getY());
+            final float rawX = lineRawPoints[(i - firstVisibleIndex) * 2];
+            final float rawY = lineRawPoints[(i - firstVisibleIndex) * 2 + 1];
             if (computator.isWithinContentRect(rawX, rawY, checkPrecision)) {
                 if (MODE_DRAW == mode) {
                     if (line.isUseLastCustomPoint()) {
                         if (i == last) {
-                            drawPoint(canvas, ValueShape.DOUGHNUT, pointValue, rawX, rawY, pointRadius, line.isUsePointShadow());
+                            drawPoint(canvas, ValueShape.DOUGHNUT, line.getPointColor(), rawX, rawY, pointRadius,
+                                    line.isUsePointShadow());
                         }
                     } else {
-                        drawPoint(canvas, line.getShape(), pointValue, rawX, rawY, pointRadius, line.isUsePointShadow());
+                        drawPoint(canvas, line.getShape(), line.getPointColor(), rawX, rawY, pointRadius,
+                                line.isUsePointShadow());
                     }
 
                     if (line.hasLabels() || line.hasLabelOnlyLastPoint() && i == last) {
-                        drawLabel(canvas, line, pointValue, rawX, rawY, pointRadius + labelOffset);
+                        drawLabel(canvas, line, i, rawX, rawY, pointRadius + labelOffset);
                     }
                 } else if (MODE_HIGHLIGHT == mode) {
-                    highlightPoint(canvas, line, pointValue, rawX, rawY, lineIndex, valueIndex);
+                    highlightPoint(canvas, line, rawX, rawY, lineIndex, i);
                 } else {
                     throw new IllegalStateException("Cannot process points in mode: " + mode);
                 }
             }
-            ++valueIndex;
-        }
-    }
-
-    private void drawPoint(Canvas canvas, ValueShape shape, PointValue pointValue, float rawX, float rawY,
-                           float pointRadius, boolean useShadow) {
-        if (ValueShape.SQUARE.equals(shape)) {
-            canvas.drawRect(rawX - pointRadius, rawY - pointRadius, rawX + pointRadius, rawY + pointRadius,
-                    pointPaint);
-        } else if (ValueShape.CIRCLE.equals(shape)) {
-            canvas.drawCircle(rawX, rawY - 3, pointRadius, pointPaint);
-        } else if (ValueShape.DOUGHNUT.equals(shape)) {
-            Paint centerColor = new Paint();
-            centerColor.setColor(Color.parseColor("#FFFFFF"));
-            if (useShadow) {
-                Paint shadowColor = new Paint();
-                shadowColor.setColor(Color.parseColor("#05000000"));
-                canvas.drawCircle(rawX + 2, rawY + 4, pointRadius * 2.2f, shadowColor);
-
-                Paint shadowColor1 = new Paint();
-                shadowColor1.setColor(Color.parseColor("#05000000"));
-                canvas.drawCircle(rawX + 2, rawY + 4, pointRadius * 2.0f, shadowColor1);
-
-                Paint shadowColor2 = new Paint();
-                shadowColor2.setColor(Color.parseColor("#0D000000"));
-                canvas.drawCircle(rawX + 2, rawY + 4, pointRadius * 1.8f, shadowColor2);
-            }
-            canvas.drawCircle(rawX, rawY, pointRadius * 1.5f, pointPaint);
-            canvas.drawCircle(rawX, rawY, pointRadius * 0.7f, centerColor);
-        } else if (ValueShape.DIAMOND.equals(shape)) {
-            canvas.save();
-            canvas.rotate(45, rawX, rawY);
-            canvas.drawRect(rawX - pointRadius, rawY - pointRadius, rawX + pointRadius, rawY + pointRadius,
-                    pointPaint);
-            canvas.restore();
-        } else {
-            throw new IllegalArgumentException("Invalid point shape: " + shape);
         }
     }
 
+    /**
+     * Draws point using pre-rasterized sprite from {@link PointSpriteCache}.
+     */
+    private void drawPoint(Canvas canvas, ValueShape shape, int color, float rawX, float rawY, int pointRadius,
+                           boolean useShadow) {
+        final long spriteKey = PointSpriteCache.computeKey(shape, color, pointRadius, useShadow);
+        if (null == lastPointSprite || lastPointSpriteKey != spriteKey) {
+            lastPointSprite = pointSpriteCache.getSprite(shape, color, pointRadius, useShadow);
+            lastPointSpriteKey = spriteKey;
+        }
+        lastPointSprite.draw(canvas, rawX, rawY, pointPaint);
+    }
+
     private void highlightPoints(Canvas canvas) {
         int lineIndex = selectedValue.getFirstIndex();
         Line line = dataProvider.getLineChartData().getLines().get(lineIndex);
         drawPoints(canvas, line, lineIndex, MODE_HIGHLIGHT);
     }
 
-    private void highlightPoint(Canvas canvas, Line line, PointValue pointValue, float rawX, float rawY, int lineIndex,
-                                int valueIndex) {
+    private void highlightPoint(Canvas canvas, Line line, float rawX, float rawY, int lineIndex, int valueIndex) {
         if (selectedValue.getFirstIndex() == lineIndex && selectedValue.getSecondIndex() == valueIndex) {
             int pointRadius = ChartUtils.dp2px(density, line.getPointRadius());
-            pointPaint.setColor(line.getDarkenColor());
-            drawPoint(canvas, line.getShape(), pointValue, rawX, rawY, pointRadius + touchToleranceMargin, line.isUsePointShadow());
+            drawPoint(canvas, line.getShape(), line.getDarkenColor(), rawX, rawY, pointRadius + touchToleranceMargin,
+                    line.isUsePointShadow());
             if (line.hasLabels() || line.hasLabelsOnlyForSelected()) {
-                drawLabel(canvas, line, pointValue, rawX, rawY, pointRadius + labelOffset);
+                drawLabel(canvas, line, valueIndex, rawX, rawY, pointRadius + labelOffset);
             }
         }
     }
 
-    private void drawLabel(Canvas canvas, Line line, PointValue pointValue, float rawX, float rawY, float offset) {
+    private void drawLabel(Canvas canvas, Line line, int valueIndex, float rawX, float rawY, float offset) {
         final Rect contentRect = computator.getContentRectMinusAllMargins();
+        final PointValue pointValue = obtainPointValue(line, valueIndex);
         final int numChars = line.getFormatter().formatChartValue(labelBuffer, pointValue);
         if (numChars == 0) {
             // No need to draw empty label
@@ -563,7 +1078,7 @@ public class LineChartRenderer extends AbstractChartRenderer {
 
 
     private void drawArea(Canvas canvas, Line line) {
-        final int lineSize = line.getValues().size();
+        final int lineSize = line.getValuesCount();
 
         if (lineSize < 2) {
             //No point to draw area for one point or empty line.
@@ -576,8 +1091,8 @@ public class LineChartRenderer extends AbstractChartRenderer {
 
 
         //That checks works only if the last point is the right most one.
-        final float left = Math.max(computator.computeRawX(line.getValues().get(0).getX()), contentRect.left);
-        final float right = Math.min(computator.computeRawX(line.getValues().get(lineSize - 1).getX()), contentRect.right);
+        final float left = Math.max(computator.computeRawX(line.getValueX(0)), contentRect.left);
+        final float right = Math.min(computator.computeRawX(line.getValueX(lineSize - 1)), contentRect.right);
 
         path.lineTo(right, baseRawValue);
         path.lineTo(left, baseRawValue);
@@ -598,10 +1113,31 @@ public class LineChartRenderer extends AbstractChartRenderer {
         canvas.drawPath(path, linePaint);
     }
 
-    private boolean isInArea(float x, float y, float touchX, float touchY, float radius) {
-        float diffX = touchX - x;
-        float diffY = touchY - y;
-        return Math.pow(diffX, 2) + Math.pow(diffY, 2) <= 2 * Math.pow(radius, 2);
+    /**
+     * Returns PointValue for given index. For lines with columnar storage reusable {@link #tempPointValue} is filled
+     * and returned so don't keep reference to it.
+     */
+    private PointValue obtainPointValue(Line line, int valueIndex) {
+        if (null == line.getValueArray()) {
+            return line.getValues().get(valueIndex);
+        }
+        return tempPointValue.set(line.getValueX(valueIndex), line.getValueY(valueIndex));
+    }
+
+    private static class RawPointsCache {
+        private float[] points = new float[0];
+        private int firstIndex;
+        private int lastIndex;
+        private long dataStamp;
+        private Viewport viewport = new Viewport();
+        private Rect contentRect = new Rect();
+        private boolean isValid = false;
     }
 
+    private static class ControlPointsCache {
+        private float[] controlPoints = new float[0];
+        private long dataStamp;
+        private boolean isMonotone;
+        private boolean isValid = false;
+    }
 }
@@ -14,6 +14,9 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.text.TextUtils;
 
+import java.util.Arrays;
+import java.util.List;
+
 import lecho.lib.hellocharts.formatter.PieChartValueFormatter;
 import lecho.lib.hellocharts.model.PieChartData;
 import lecho.lib.hellocharts.model.SelectedValue;
@@ -40,6 +43,31 @@ public class PieChartRenderer extends AbstractChartRenderer {
     private PieChartDataProvider dataProvider;
     private Paint slicePaint = new Paint();
     private float maxSum;
+    /**
+     * Cumulative slice angles without rotation, slice i spans from sliceAngles[i] to sliceAngles[i + 1]. Rebuilt when
+     * data changes or on animation step.
+     */
+    private float[] sliceAngles = new float[1];
+    private int slicesCount;
+
+    // Slice layout cache, valid for current data, rotation and circle oval.
+    private boolean isSliceLayoutValid;
+    private int layoutRotation;
+    private RectF layoutCircleOval = new RectF();
+    /**
+     * Unit vectors of slices start angles [x0, y0, x1, y1, ...] used to draw separation lines.
+     */
+    private float[] sliceDirections = new float[0];
+    /**
+     * Label background rects [left0, top0, right0, bottom0, ...].
+     */
+    private float[] labelRects = new float[0];
+    /**
+     * Formatted labels of all slices, label of slice i starts at labelStarts[i] and has labelLengths[i] chars.
+     */
+    private char[] labelChars = new char[64];
+    private int[] labelStarts = new int[0];
+    private int[] labelLengths = new int[0];
     private RectF originCircleOval = new RectF();
     private RectF drawCircleOval = new RectF();
     private PointF sliceVector = new PointF();
@@ -68,6 +96,17 @@ public class PieChartRenderer extends AbstractChartRenderer {
     private Bitmap softwareBitmap;
     private Canvas softwareCanvas = new Canvas();
 
+    // Rotation layer, slices drawn once and then only rotated while chart rotation is in progress.
+    private boolean isRotationLayerEnabled;
+    private boolean isRotationInProgress;
+    private boolean isRotationLayerValid;
+    private int layerRotation;
+    private int layerSelectedIndex;
+    private RectF layerCircleOval = new RectF();
+    private Bitmap rotationLayerBitmap;
+    private Canvas rotationLayerCanvas = new Canvas();
+    private Paint rotationLayerPaint = new Paint();
+
     public PieChartRenderer(Context context, Chart chart, PieChartDataProvider dataProvider) {
         super(context, chart);
         this.dataProvider = dataProvider;
@@ -91,17 +130,22 @@ public class PieChartRenderer extends AbstractChartRenderer {
         separationLinesPaint.setStrokeCap(Paint.Cap.ROUND);
         separationLinesPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.CLEAR));
         separationLinesPaint.setColor(Color.TRANSPARENT);
+
+        rotationLayerPaint.setFilterBitmap(true);
     }
 
     @Override
     public void onChartSizeChanged() {
         calculateCircleOval();
+        isSliceLayoutValid = false;
 
         if (computator.getChartWidth() > 0 && computator.getChartHeight() > 0) {
             softwareBitmap = Bitmap.createBitmap(computator.getChartWidth(), computator.getChartHeight(),
                     Bitmap.Config.ARGB_8888);
             softwareCanvas.setBitmap(softwareBitmap);
         }
+        rotationLayerBitmap = null;
+        isRotationLayerValid = false;
     }
 
     @Override
@@ -138,10 +182,17 @@ public class PieChartRenderer extends AbstractChartRenderer {
             computator.setMaxViewport(tempMaximumViewport);
             computator.setCurrentViewport(computator.getMaximumViewport());
         }
+        calculateSliceAngles();
     }
 
     @Override
     public void draw(Canvas canvas) {
+        if (isRotationLayerEnabled && isRotationInProgress && null != softwareBitmap) {
+            drawRotationLayer(canvas);
+            return;
+        }
+        isRotationLayerValid = false;
+
         // softwareBitmap can be null if chart is rendered in layout editor. In that case use default canvas and not
         // softwareCanvas.
         final Canvas drawCanvas;
@@ -152,6 +203,7 @@ public class PieChartRenderer extends AbstractChartRenderer {
             drawCanvas = canvas;
         }
 
+        checkSliceLayout();
         drawSlices(drawCanvas);
         drawSeparationLines(drawCanvas);
         if (hasCenterCircle) {
@@ -164,6 +216,45 @@ public class PieChartRenderer extends AbstractChartRenderer {
         }
     }
 
+    /**
+     * Draws slices, separation lines and center circle from rotation layer rotated to current chart rotation, layer
+     * is rendered only if it is not valid anymore. Labels and center circle text are drawn on top so they stay
+     * upright.
+     */
+    private void drawRotationLayer(Canvas canvas) {
+        checkSliceLayout();
+        final int selectedIndex = isTouched() ? selectedValue.getFirstIndex() : -1;
+        if (null == rotationLayerBitmap) {
+            rotationLayerBitmap = Bitmap.createBitmap(softwareBitmap.getWidth(), softwareBitmap.getHeight(),
+                    Bitmap.Config.ARGB_8888);
+            rotationLayerCanvas.setBitmap(rotationLayerBitmap);
+            isRotationLayerValid = false;
+        }
+        if (!isRotationLayerValid || layerSelectedIndex != selectedIndex || !isSameOval(layerCircleOval,
+                originCircleOval)) {
+            rotationLayerCanvas.drawColor(Color.TRANSPARENT, PorterDuff.Mode.CLEAR);
+            drawSlices(rotationLayerCanvas);
+            drawSeparationLines(rotationLayerCanvas);
+            if (hasCenterCircle) {
+                drawCenterCircleBackground(rotationLayerCanvas);
+            }
+            isRotationLayerValid = true;
+            layerRotation = rotation;
+            layerSelectedIndex = selectedIndex;
+            layerCircleOval.set(originCircleOval);
+        }
+
+        final int saveCount = canvas.save();
+        canvas.rotate(rotation - layerRotation, originCircleOval.centerX(), originCircleOval.centerY());
+        canvas.drawBitmap(rotationLayerBitmap, 0, 0, rotationLayerPaint);
+        canvas.restoreToCount(saveCount);
+
+        if (hasCenterCircle) {
+            drawCenterCircleText(canvas);
+        }
+        drawLabels(canvas);
+    }
+
     @Override
     public void drawUnclipped(Canvas canvas) {
     }
@@ -190,16 +281,9 @@ public class PieChartRenderer extends AbstractChartRenderer {
         // adding 360
         // and modulo 360 translates i.e -20 degrees to 340 degrees.
         final float touchAngle = (pointToAngle(touchX, touchY, centerX, centerY) - rotation + 360f) % 360f;
-        final float sliceScale = 360f / maxSum;
-        float lastAngle = 0f; // No start angle here, see above
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
-            final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
-            if (touchAngle >= lastAngle) {
-                selectedValue.set(sliceIndex, sliceIndex, SelectedValueType.NONE);
-            }
-            lastAngle += angle;
-            ++sliceIndex;
+        final int sliceIndex = findSliceIndex(touchAngle);
+        if (sliceIndex >= 0) {
+            selectedValue.set(sliceIndex, sliceIndex, SelectedValueType.NONE);
         }
         return isTouched();
     }
@@ -208,14 +292,22 @@ public class PieChartRenderer extends AbstractChartRenderer {
      * Draw center circle with text if {@link PieChartData#hasCenterCircle()} is set true.
      */
     private void drawCenterCircle(Canvas canvas) {
+        drawCenterCircleBackground(canvas);
+        drawCenterCircleText(canvas);
+    }
+
+    private void drawCenterCircleBackground(Canvas canvas) {
         final PieChartData data = dataProvider.getPieChartData();
         final float circleRadius = originCircleOval.width() / 2f;
         final float centerRadius = circleRadius * data.getCenterCircleScale();
+        canvas.drawCircle(originCircleOval.centerX(), originCircleOval.centerY(), centerRadius, centerCirclePaint);
+    }
+
+    private void drawCenterCircleText(Canvas canvas) {
+        final PieChartData data = dataProvider.getPieChartData();
         final float centerX = originCircleOval.centerX();
         final float centerY = originCircleOval.centerY();
 
-        canvas.drawCircle(centerX, centerY, centerRadius, centerCirclePaint);
-
         // Draw center text1 and text2 if not empty.
         if (!TextUtils.isEmpty(data.getCenterText1())) {
 
@@ -241,24 +333,21 @@ public class PieChartRenderer extends AbstractChartRenderer {
      */
     private void drawSlices(Canvas canvas) {
         final PieChartData data = dataProvider.getPieChartData();
-        final float sliceScale = 360f / maxSum;
-        float lastAngle = rotation;
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
-            final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
+        for (int sliceIndex = 0; sliceIndex < slicesCount; ++sliceIndex) {
+            final SliceValue sliceValue = data.getValues().get(sliceIndex);
+            final float lastAngle = rotation + sliceAngles[sliceIndex];
+            final float angle = sliceAngles[sliceIndex + 1] - sliceAngles[sliceIndex];
             if (isTouched() && selectedValue.getFirstIndex() == sliceIndex) {
                 drawSlice(canvas, sliceValue, lastAngle, angle, MODE_HIGHLIGHT);
             } else {
                 drawSlice(canvas, sliceValue, lastAngle, angle, MODE_DRAW);
             }
-            lastAngle += angle;
-            ++sliceIndex;
         }
     }
 
     private void drawSeparationLines(Canvas canvas) {
         final PieChartData data = dataProvider.getPieChartData();
-        if (data.getValues().size() < 2) {
+        if (slicesCount < 2) {
             //No need for separation lines for 0 or 1 slices.
             return;
         }
@@ -267,46 +356,33 @@ public class PieChartRenderer extends AbstractChartRenderer {
             //No need for separation lines
             return;
         }
-        final float sliceScale = 360f / maxSum;
-        float lastAngle = rotation;
         final float circleRadius = originCircleOval.width() / 2f;
         separationLinesPaint.setStrokeWidth(sliceSpacing);
-        for (SliceValue sliceValue : data.getValues()) {
-            final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
-
-            sliceVector.set((float) (Math.cos(Math.toRadians(lastAngle))),
-                    (float) (Math.sin(Math.toRadians(lastAngle))));
-            normalizeVector(sliceVector);
-
-            float x1 = sliceVector.x * (circleRadius + touchAdditional) + originCircleOval.centerX();
-            float y1 = sliceVector.y * (circleRadius + touchAdditional) + originCircleOval.centerY();
+        for (int sliceIndex = 0; sliceIndex < slicesCount; ++sliceIndex) {
+            float x1 = sliceDirections[sliceIndex * 2] * (circleRadius + touchAdditional) + originCircleOval.centerX();
+            float y1 = sliceDirections[sliceIndex * 2 + 1] * (circleRadius + touchAdditional)
+                    + originCircleOval.centerY();
 
             canvas.drawLine(originCircleOval.centerX(), originCircleOval.centerY(), x1, y1, separationLinesPaint);
-
-            lastAngle += angle;
         }
     }
 
     public void drawLabels(Canvas canvas) {
         final PieChartData data = dataProvider.getPieChartData();
-        final float sliceScale = 360f / maxSum;
-        float lastAngle = rotation;
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
-            final float angle = Math.abs(sliceValue.getValue()) * sliceScale;
+        checkSliceLayout();
+        for (int sliceIndex = 0; sliceIndex < slicesCount; ++sliceIndex) {
+            final SliceValue sliceValue = data.getValues().get(sliceIndex);
             if (isTouched()) {
                 if (hasLabels) {
-                    drawLabel(canvas, sliceValue, lastAngle, angle);
+                    drawLabel(canvas, sliceIndex, sliceValue);
                 } else if (hasLabelsOnlyForSelected && selectedValue.getFirstIndex() == sliceIndex) {
-                    drawLabel(canvas, sliceValue, lastAngle, angle);
+                    drawLabel(canvas, sliceIndex, sliceValue);
                 }
             } else {
                 if (hasLabels) {
-                    drawLabel(canvas, sliceValue, lastAngle, angle);
+                    drawLabel(canvas, sliceIndex, sliceValue);
                 }
             }
-            lastAngle += angle;
-            ++sliceIndex;
         }
     }
 
@@ -316,9 +392,6 @@ public class PieChartRenderer extends AbstractChartRenderer {
      * and will have bigger radius.
      */
     private void drawSlice(Canvas canvas, SliceValue sliceValue, float lastAngle, float angle, int mode) {
-        sliceVector.set((float) (Math.cos(Math.toRadians(lastAngle + angle / 2))),
-                (float) (Math.sin(Math.toRadians(lastAngle + angle / 2))));
-        normalizeVector(sliceVector);
         drawCircleOval.set(originCircleOval);
         if (MODE_HIGHLIGHT == mode) {
             // Add additional touch feedback by setting bigger radius for that slice and darken color.
@@ -331,19 +404,82 @@ public class PieChartRenderer extends AbstractChartRenderer {
         }
     }
 
-    private void drawLabel(Canvas canvas, SliceValue sliceValue, float lastAngle, float angle) {
-        sliceVector.set((float) (Math.cos(Math.toRadians(lastAngle + angle / 2))),
-                (float) (Math.sin(Math.toRadians(lastAngle + angle / 2))));
-        normalizeVector(sliceVector);
-
-        final int numChars = valueFormatter.formatChartValue(labelBuffer, sliceValue);
-
+    private void drawLabel(Canvas canvas, int sliceIndex, SliceValue sliceValue) {
+        final int numChars = labelLengths[sliceIndex];
         if (numChars == 0) {
             // No need to draw empty label
             return;
         }
+        labelBackgroundRect.set(labelRects[sliceIndex * 4], labelRects[sliceIndex * 4 + 1],
+                labelRects[sliceIndex * 4 + 2], labelRects[sliceIndex * 4 + 3]);
+        drawLabelTextAndBackground(canvas, labelChars, labelStarts[sliceIndex], numChars, sliceValue.getDarkenColor());
+    }
+
+    /**
+     * Recalculates slices layout if data, rotation or circle oval changed since last calculation.
+     */
+    private void checkSliceLayout() {
+        if (isSliceLayoutValid && layoutRotation == rotation && isSameOval(layoutCircleOval, originCircleOval)) {
+            return;
+        }
+        calculateSliceLayout();
+        isSliceLayoutValid = true;
+        layoutRotation = rotation;
+        layoutCircleOval.set(originCircleOval);
+    }
+
+    /**
+     * Calculates directions of separation lines and formats, measures and places labels of all slices so drawing
+     * frames don't do any trigonometry or text measuring.
+     */
+    private void calculateSliceLayout() {
+        if (sliceDirections.length < slicesCount * 2) {
+            sliceDirections = new float[slicesCount * 2];
+            labelRects = new float[slicesCount * 4];
+            labelStarts = new int[slicesCount];
+            labelLengths = new int[slicesCount];
+        }
+        final boolean hasAnyLabels = hasLabels || hasLabelsOnlyForSelected;
+        final List<SliceValue> values = dataProvider.getPieChartData().getValues();
+        int labelCharsCount = 0;
+        for (int sliceIndex = 0; sliceIndex < slicesCount; ++sliceIndex) {
+            final float lastAngle = rotation + sliceAngles[sliceIndex];
+            sliceVector.set((float) (Math.cos(Math.toRadians(lastAngle))),
+                    (float) (Math.sin(Math.toRadians(lastAngle))));
+            normalizeVector(sliceVector);
+            sliceDirections[sliceIndex * 2] = sliceVector.x;
+            sliceDirections[sliceIndex * 2 + 1] = sliceVector.y;
+
+            labelLengths[sliceIndex] = 0;
+            if (!hasAnyLabels) {
+                continue;
+            }
+            final int numChars = valueFormatter.formatChartValue(labelBuffer, values.get(sliceIndex));
+            if (numChars == 0) {
+                continue;
+            }
+            if (labelChars.length < labelCharsCount + numChars) {
+                labelChars = Arrays.copyOf(labelChars, Math.max(labelChars.length * 2, labelCharsCount + numChars));
+            }
+            System.arraycopy(labelBuffer, labelBuffer.length - numChars, labelChars, labelCharsCount, numChars);
+            labelStarts[sliceIndex] = labelCharsCount;
+            labelLengths[sliceIndex] = numChars;
+            labelCharsCount += numChars;
+
+            final float angle = sliceAngles[sliceIndex + 1] - sliceAngles[sliceIndex];
+            layoutLabel(sliceIndex, lastAngle, angle,
+                    labelPaint.measureText(labelChars, labelStarts[sliceIndex], numChars));
+        }
+    }
+
+    /**
+     * Calculates background rect of label for slice from lastAngle to lastAngle+angle and stores it in labelRects.
+     */
+    private void layoutLabel(int sliceIndex, float lastAngle, float angle, float labelWidth) {
+        sliceVector.set((float) (Math.cos(Math.toRadians(lastAngle + angle / 2))),
+                (float) (Math.sin(Math.toRadians(lastAngle + angle / 2))));
+        normalizeVector(sliceVector);
 
-        final float labelWidth = labelPaint.measureText(labelBuffer, labelBuffer.length - numChars, numChars);
         final int labelHeight = Math.abs(fontMetrics.ascent);
 
         final float centerX = originCircleOval.centerX();
@@ -394,9 +530,15 @@ public class PieChartRenderer extends AbstractChartRenderer {
             bottom = rawY + labelHeight / 2 + labelMargin;
         }
 
-        labelBackgroundRect.set(left, top, right, bottom);
-        drawLabelTextAndBackground(canvas, labelBuffer, labelBuffer.length - numChars, numChars,
-                sliceValue.getDarkenColor());
+        labelRects[sliceIndex * 4] = left;
+        labelRects[sliceIndex * 4 + 1] = top;
+        labelRects[sliceIndex * 4 + 2] = right;
+        labelRects[sliceIndex * 4 + 3] = bottom;
+    }
+
+    private static boolean isSameOval(RectF first, RectF second) {
+        return first.left == second.left && first.top == second.top && first.right == second.right
+                && first.bottom == second.bottom;
     }
 
     private void normalizeVector(PointF point) {
@@ -438,14 +580,56 @@ public class PieChartRenderer extends AbstractChartRenderer {
 
     /**
      * Viewport is not really important for PieChart, this kind of chart doesn't relay on viewport but uses pixels
-     * coordinates instead. This method also calculates sum of all SliceValues.
+     * coordinates instead.
      */
     private void calculateMaxViewport() {
         tempMaximumViewport.set(0, MAX_WIDTH_HEIGHT, MAX_WIDTH_HEIGHT, 0);
+    }
+
+    /**
+     * Calculates sum of all SliceValues and cumulative angles of slices, angles are accumulated the same way slices
+     * are drawn so the last slice ends at 360 degrees(within float precision).
+     */
+    private void calculateSliceAngles() {
+        final List<SliceValue> values = dataProvider.getPieChartData().getValues();
+        slicesCount = values.size();
+        if (sliceAngles.length < slicesCount + 1) {
+            sliceAngles = new float[slicesCount + 1];
+        }
         maxSum = 0.0f;
-        for (SliceValue sliceValue : dataProvider.getPieChartData().getValues()) {
-            maxSum += Math.abs(sliceValue.getValue());
+        for (int i = 0; i < slicesCount; ++i) {
+            maxSum += Math.abs(values.get(i).getValue());
+        }
+        final float sliceScale = 360f / maxSum;
+        float lastAngle = 0f;
+        sliceAngles[0] = lastAngle;
+        for (int i = 0; i < slicesCount; ++i) {
+            lastAngle += Math.abs(values.get(i).getValue()) * sliceScale;
+            sliceAngles[i + 1] = lastAngle;
         }
+        isSliceLayoutValid = false;
+        isRotationLayerValid = false;
+    }
+
+    /**
+     * Returns index of the last slice that starts at or before given angle(without rotation) or -1 if there are no
+     * slices. Uses binary search over cumulative slice angles.
+     */
+    private int findSliceIndex(float angle) {
+        if (slicesCount == 0 || !(angle >= sliceAngles[0])) {
+            return -1;
+        }
+        int low = 0;
+        int high = slicesCount - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (sliceAngles[middle] <= angle) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
     }
 
     public RectF getCircleOval() {
@@ -465,27 +649,53 @@ public class PieChartRenderer extends AbstractChartRenderer {
         this.rotation = rotation;
     }
 
+    /**
+     * @see #setRotationLayerEnabled(boolean)
+     */
+    public boolean isRotationLayerEnabled() {
+        return isRotationLayerEnabled;
+    }
+
+    /**
+     * Set true to render slices, separation lines and center circle only once when chart rotation starts and then
+     * draw them rotated with canvas transformation while rotation is in progress(see
+     * {@link #setRotationInProgress(boolean)}). Labels and center circle text are drawn upright on top of rotated
+     * layer. Everything is re-rendered when rotation settles. Rotated layer is filtered so it may be a little less
+     * sharp than regular rendering, by default false.
+     */
+    public void setRotationLayerEnabled(boolean isEnabled) {
+        this.isRotationLayerEnabled = isEnabled;
+        if (!isEnabled) {
+            rotationLayerBitmap = null;
+            isRotationLayerValid = false;
+        }
+    }
+
+    public boolean isRotationInProgress() {
+        return isRotationInProgress;
+    }
+
+    /**
+     * Set true when continuous rotation(touch gesture, fling or animation) starts and false when it settles.
+     */
+    public void setRotationInProgress(boolean isInProgress) {
+        this.isRotationInProgress = isInProgress;
+    }
+
     /**
      * Returns SliceValue that is under given angle, selectedValue (if not null) will be hold slice index.
      */
     public SliceValue getValueForAngle(int angle, SelectedValue selectedValue) {
         final PieChartData data = dataProvider.getPieChartData();
         final float touchAngle = (angle - rotation + 360f) % 360f;
-        final float sliceScale = 360f / maxSum;
-        float lastAngle = 0f;
-        int sliceIndex = 0;
-        for (SliceValue sliceValue : data.getValues()) {
-            final float tempAngle = Math.abs(sliceValue.getValue()) * sliceScale;
-            if (touchAngle >= lastAngle) {
-                if (null != selectedValue) {
-                    selectedValue.set(sliceIndex, sliceIndex, SelectedValueType.NONE);
-                }
-                return sliceValue;
-            }
-            lastAngle += tempAngle;
-            ++sliceIndex;
+        final int sliceIndex = findSliceIndex(touchAngle);
+        if (sliceIndex < 0) {
+            return null;
+        }
+        if (null != selectedValue) {
+            selectedValue.set(sliceIndex, sliceIndex, SelectedValueType.NONE);
         }
-        return null;
+        return data.getValues().get(sliceIndex);
     }
 
     /**
@@ -0,0 +1,177 @@
+package lecho.lib.hellocharts.renderer;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lecho.lib.hellocharts.model.ValueShape;
+
+/**
+ * Cache of pre-rasterized point markers shared by all charts. Every combination of shape, color, radius and shadow is
+ * drawn only once into small bitmap(sprite) and then points are stamped with
+ * {@link Canvas#drawBitmap(Bitmap, float, float, Paint)}, so drawing points doesn't allocate objects and doesn't
+ * rasterize shapes again. Radius is given in pixels so sprites for different screen densities never collide, changing
+ * point style simply creates new sprite. Least recently used sprites are evicted when cache is full.
+ */
+public class PointSpriteCache {
+    private static final int MAX_SPRITES = 32;
+    /**
+     * Padding around shape so anti-aliased edges are not clipped.
+     */
+    private static final int SPRITE_PADDING = 1;
+    private static final float CIRCLE_OFFSET_Y = -3;
+    private static final float DOUGHNUT_SCALE = 1.5f;
+    private static final float DOUGHNUT_CENTER_SCALE = 0.7f;
+    private static final int DOUGHNUT_CENTER_COLOR = Color.WHITE;
+    private static final float DOUGHNUT_SHADOW_OFFSET_X = 2;
+    private static final float DOUGHNUT_SHADOW_OFFSET_Y = 4;
+    private static final float[] DOUGHNUT_SHADOW_SCALES = new float[]{2.2f, 2.0f, 1.8f};
+    private static final int[] DOUGHNUT_SHADOW_COLORS = new int[]{0x05000000, 0x05000000, 0x0D000000};
+
+    private static final PointSpriteCache INSTANCE = new PointSpriteCache();
+
+    private final Map<Long, Sprite> sprites = new LinkedHashMap<Long, Sprite>(MAX_SPRITES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Sprite> eldest) {
+            return size() > MAX_SPRITES;
+        }
+    };
+    private final Paint shapePaint = new Paint();
+
+    private PointSpriteCache() {
+        shapePaint.setAntiAlias(true);
+        shapePaint.setStyle(Paint.Style.FILL);
+    }
+
+    public static PointSpriteCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns key that uniquely identifies sprite for given attributes, it can be used to check if sprite returned
+     * previously can be reused without looking into the cache.
+     */
+    public static long computeKey(ValueShape shape, int color, int radius, boolean useShadow) {
+        return ((long) color & 0xFFFFFFFFL) | ((long) (radius & 0xFFFFF) << 32) | ((long) shape.ordinal() << 52)
+                | (useShadow ? 1L << 60 : 0);
+    }
+
+    /**
+     * Returns sprite for given attributes, sprite is rasterized if it is not in the cache yet.
+     *
+     * @param radius point radius in pixels
+     */
+    public synchronized Sprite getSprite(ValueShape shape, int color, int radius, boolean useShadow) {
+        final Long key = computeKey(shape, color, radius, useShadow);
+        Sprite sprite = sprites.get(key);
+        if (null == sprite) {
+            sprite = createSprite(shape, color, radius, useShadow);
+            sprites.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Removes all sprites, they will be rasterized again when needed.
+     */
+    public synchronized void clear() {
+        sprites.clear();
+    }
+
+    private Sprite createSprite(ValueShape shape, int color, int radius, boolean useShadow) {
+        // Extents of shape relative to point position.
+        float extentLeft;
+        float extentTop;
+        float extentRight;
+        float extentBottom;
+        if (ValueShape.SQUARE.equals(shape)) {
+            extentLeft = extentTop = -radius;
+            extentRight = extentBottom = radius;
+        } else if (ValueShape.CIRCLE.equals(shape)) {
+            extentLeft = -radius;
+            extentRight = radius;
+            extentTop = CIRCLE_OFFSET_Y - radius;
+            extentBottom = CIRCLE_OFFSET_Y + radius;
+        } else if (ValueShape.DOUGHNUT.equals(shape)) {
+            extentLeft = extentTop = -radius * DOUGHNUT_SCALE;
+            extentRight = extentBottom = radius * DOUGHNUT_SCALE;
+            if (useShadow) {
+                final float shadowRadius = radius * DOUGHNUT_SHADOW_SCALES[0];
+                extentLeft = Math.min(extentLeft, DOUGHNUT_SHADOW_OFFSET_X - shadowRadius);
+                extentTop = Math.min(extentTop, DOUGHNUT_SHADOW_OFFSET_Y - shadowRadius);
+                extentRight = Math.max(extentRight, DOUGHNUT_SHADOW_OFFSET_X + shadowRadius);
+                extentBottom = Math.max(extentBottom, DOUGHNUT_SHADOW_OFFSET_Y + shadowRadius);
+            }
+        } else if (ValueShape.DIAMOND.equals(shape)) {
+            final float diagonal = (float) (radius * Math.sqrt(2));
+            extentLeft = extentTop = -diagonal;
+            extentRight = extentBottom = diagonal;
+        } else {
+            throw new IllegalArgumentException("Invalid point shape: " + shape);
+        }
+
+        final int offsetX = (int) Math.floor(extentLeft) - SPRITE_PADDING;
+        final int offsetY = (int) Math.floor(extentTop) - SPRITE_PADDING;
+        final int width = Math.max((int) Math.ceil(extentRight) + SPRITE_PADDING - offsetX, 1);
+        final int height = Math.max((int) Math.ceil(extentBottom) + SPRITE_PADDING - offsetY, 1);
+        final Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+
+        drawShape(new Canvas(bitmap), shape, color, -offsetX, -offsetY, radius, useShadow);
+
+        return new Sprite(bitmap, offsetX, offsetY);
+    }
+
+    private void drawShape(Canvas canvas, ValueShape shape, int color, float x, float y, float radius,
+                           boolean useShadow) {
+        shapePaint.setColor(color);
+        if (ValueShape.SQUARE.equals(shape)) {
+            canvas.drawRect(x - radius, y - radius, x + radius, y + radius, shapePaint);
+        } else if (ValueShape.CIRCLE.equals(shape)) {
+            canvas.drawCircle(x, y + CIRCLE_OFFSET_Y, radius, shapePaint);
+        } else if (ValueShape.DOUGHNUT.equals(shape)) {
+            if (useShadow) {
+                for (int i = 0; i < DOUGHNUT_SHADOW_SCALES.length; ++i) {
+                    shapePaint.setColor(DOUGHNUT_SHADOW_COLORS[i]);
+                    canvas.drawCircle(x + DOUGHNUT_SHADOW_OFFSET_X, y + DOUGHNUT_SHADOW_OFFSET_Y,
+                            radius * DOUGHNUT_SHADOW_SCALES[i], shapePaint);
+                }
+                shapePaint.setColor(color);
+            }
+            canvas.drawCircle(x, y, radius * DOUGHNUT_SCALE, shapePaint);
+            shapePaint.setColor(DOUGHNUT_CENTER_COLOR);
+            canvas.drawCircle(x, y, radius * DOUGHNUT_CENTER_SCALE, shapePaint);
+        } else if (ValueShape.DIAMOND.equals(shape)) {
+            canvas.save();
+            canvas.rotate(45, x, y);
+            canvas.drawRect(x - radius, y - radius, x + radius, y + radius, shapePaint);
+            canvas.restore();
+        }
+    }
+
+    /**
+     * Pre-rasterized point marker.
+     */
+    public static class Sprite {
+        private final Bitmap bitmap;
+        private final int offsetX;
+        private final int offsetY;
+
+        Sprite(Bitmap bitmap, int offsetX, int offsetY) {
+            this.bitmap = bitmap;
+            this.offsetX = offsetX;
+            this.offsetY = offsetY;
+        }
+
+        /**
+         * Draws sprite centered at given point position. Position is rounded to whole pixels so sprite is copied
+         * without resampling and its edges stay as sharp as shapes drawn directly.
+         */
+        public void draw(Canvas canvas, float x, float y, Paint paint) {
+            canvas.drawBitmap(bitmap, Math.round(x) + offsetX, Math.round(y) + offsetY, paint);
+        }
+    }
+}
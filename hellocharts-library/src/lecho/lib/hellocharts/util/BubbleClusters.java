@@ -0,0 +1,293 @@
+package lecho.lib.hellocharts.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+import lecho.lib.hellocharts.model.BubbleValue;
+
+/**
+ * Level-of-detail hierarchy of bubble clusters. Data bounds are divided into quadtree of cells, level 0 has 2^12 x 2^12
+ * cells and every next level has cells twice as wide and twice as high, the last level has single cell. Bubbles within
+ * the same cell are merged into one cluster with summed absolute z value, center weighted by z and color of the
+ * biggest member.
+ * <p/>
+ * Bubbles are sorted by Morton(Z-order) code of their cells so clusters of every level are contiguous runs and every
+ * level is built from the finer one. Fine levels which would have almost as many clusters as there are bubbles are not
+ * built, bubbles should be drawn directly instead. Hierarchy is built once per data change and then zooming only
+ * selects level, see {@link #findLevel(float, float)}. Clusters of level that is used are indexed lazily so only
+ * clusters within viewport are processed, see {@link #query(int, float, float, float, float)}.
+ */
+public class BubbleClusters {
+    private static final int MAX_DEPTH = 12;
+    /**
+     * Levels with more clusters than this fraction of bubbles are not built.
+     */
+    private static final float MAX_CLUSTERS_RATIO = 0.5f;
+
+    private float left;
+    private float bottom;
+    private float width;
+    private float height;
+    private int finestLevel = MAX_DEPTH + 1;
+    private Level[] levels = new Level[MAX_DEPTH + 1];
+
+    /**
+     * Builds hierarchy for given bubbles, should be called every time bubbles values change.
+     */
+    public void build(List<BubbleValue> values) {
+        Arrays.fill(levels, null);
+        finestLevel = MAX_DEPTH + 1;
+        final int size = values.size();
+        if (size < 2) {
+            return;
+        }
+
+        float right = -Float.MAX_VALUE;
+        float top = -Float.MAX_VALUE;
+        left = Float.MAX_VALUE;
+        bottom = Float.MAX_VALUE;
+        for (BubbleValue bubbleValue : values) {
+            left = Math.min(left, bubbleValue.getX());
+            right = Math.max(right, bubbleValue.getX());
+            bottom = Math.min(bottom, bubbleValue.getY());
+            top = Math.max(top, bubbleValue.getY());
+        }
+        width = right - left;
+        height = top - bottom;
+
+        // Sort bubbles by Morton code, index is stored in lower bits so sort is stable.
+        final long[] sortedKeys = new long[size];
+        for (int i = 0; i < size; ++i) {
+            final BubbleValue bubbleValue = values.get(i);
+            final int cellX = computeCell(bubbleValue.getX() - left, width);
+            final int cellY = computeCell(bubbleValue.getY() - bottom, height);
+            sortedKeys[i] = ((long) interleave(cellX, cellY) << 32) | i;
+        }
+        Arrays.sort(sortedKeys);
+
+        // Count clusters on every level, two neighbours are in different clusters on levels up to their highest
+        // differing cell bit.
+        final int[] clustersCounts = new int[MAX_DEPTH + 1];
+        Arrays.fill(clustersCounts, 1);
+        for (int i = 1; i < size; ++i) {
+            final int difference = (int) (sortedKeys[i] >>> 32) ^ (int) (sortedKeys[i - 1] >>> 32);
+            if (difference != 0) {
+                final int highestLevel = (31 - Integer.numberOfLeadingZeros(difference)) / 2;
+                for (int level = 0; level <= highestLevel; ++level) {
+                    ++clustersCounts[level];
+                }
+            }
+        }
+        finestLevel = MAX_DEPTH;
+        while (finestLevel > 0 && clustersCounts[finestLevel - 1] <= size * MAX_CLUSTERS_RATIO) {
+            --finestLevel;
+        }
+
+        // Finest level from bubbles, then every coarser level from the previous one.
+        Level level = new Level(clustersCounts[finestLevel]);
+        int cluster = -1;
+        int lastKey = -1;
+        for (int i = 0; i < size; ++i) {
+            final int key = (int) (sortedKeys[i] >>> 32) >>> (2 * finestLevel);
+            if (cluster < 0 || key != lastKey) {
+                ++cluster;
+                level.keys[cluster] = key;
+                lastKey = key;
+            }
+            final BubbleValue bubbleValue = values.get((int) sortedKeys[i]);
+            final float z = Math.abs(bubbleValue.getZ());
+            level.add(cluster, bubbleValue.getX() * z, bubbleValue.getY() * z, bubbleValue.getX(),
+                    bubbleValue.getY(), z, 1, z, bubbleValue.getColor());
+        }
+        levels[finestLevel] = level;
+        for (int levelIndex = finestLevel + 1; levelIndex <= MAX_DEPTH; ++levelIndex) {
+            level = mergeLevel(level, clustersCounts[levelIndex]);
+            levels[levelIndex] = level;
+        }
+        for (int levelIndex = finestLevel; levelIndex <= MAX_DEPTH; ++levelIndex) {
+            levels[levelIndex].finish();
+        }
+    }
+
+    /**
+     * Returns the finest level with cells at least minCellWidth x minCellHeight(data units) or -1 if such cells are
+     * finer than the finest built level and bubbles should be drawn directly.
+     */
+    public int findLevel(float minCellWidth, float minCellHeight) {
+        if (finestLevel > MAX_DEPTH) {
+            return -1;
+        }
+        for (int level = 0; level <= MAX_DEPTH; ++level) {
+            final float scale = (float) (1 << level) / (1 << MAX_DEPTH);
+            if ((width == 0 || width * scale >= minCellWidth) && (height == 0 || height * scale >= minCellHeight)) {
+                return level < finestLevel ? -1 : level;
+            }
+        }
+        return MAX_DEPTH;
+    }
+
+    public int getClustersCount(int level) {
+        return levels[level].size;
+    }
+
+    /**
+     * Finds clusters of given level whose centers are within given rectangle(inclusive), returns number of found
+     * clusters, use {@link #getQueryResult(int, int)} to get them in ascending order. Index of level is built on the
+     * first query.
+     */
+    public int query(int level, float left, float bottom, float right, float top) {
+        return levels[level].obtainIndex().query(left, bottom, right, top);
+    }
+
+    /**
+     * Returns index of cluster found by last {@link #query(int, float, float, float, float)} of given level.
+     */
+    public int getQueryResult(int level, int position) {
+        return levels[level].index.getResult(position);
+    }
+
+    /**
+     * Returns the biggest z value of clusters of given level.
+     */
+    public float getMaxZ(int level) {
+        return levels[level].maxClusterZ;
+    }
+
+    public float getX(int level, int cluster) {
+        return levels[level].x[cluster];
+    }
+
+    public float getY(int level, int cluster) {
+        return levels[level].y[cluster];
+    }
+
+    /**
+     * Returns sum of absolute z values of cluster members.
+     */
+    public float getZ(int level, int cluster) {
+        return levels[level].z[cluster];
+    }
+
+    public int getColor(int level, int cluster) {
+        return levels[level].colors[cluster];
+    }
+
+    public int getMembersCount(int level, int cluster) {
+        return levels[level].counts[cluster];
+    }
+
+    private Level mergeLevel(Level finer, int clustersCount) {
+        final Level level = new Level(clustersCount);
+        int cluster = -1;
+        int lastKey = -1;
+        for (int i = 0; i < finer.size; ++i) {
+            final int key = finer.keys[i] >>> 2;
+            if (cluster < 0 || key != lastKey) {
+                ++cluster;
+                level.keys[cluster] = key;
+                lastKey = key;
+            }
+            level.add(cluster, finer.x[i], finer.y[i], finer.sumX[i], finer.sumY[i], finer.z[i], finer.counts[i],
+                    finer.maxZ[i], finer.colors[i]);
+        }
+        return level;
+    }
+
+    private static int computeCell(float offset, float range) {
+        if (range <= 0) {
+            return 0;
+        }
+        final int cell = (int) (offset / range * (1 << MAX_DEPTH));
+        return Math.max(0, Math.min(cell, (1 << MAX_DEPTH) - 1));
+    }
+
+    /**
+     * Interleaves bits of cell coordinates, x bits go to even positions.
+     */
+    private static int interleave(int cellX, int cellY) {
+        int key = 0;
+        for (int bit = 0; bit < MAX_DEPTH; ++bit) {
+            key |= ((cellX >> bit) & 1) << (2 * bit);
+            key |= ((cellY >> bit) & 1) << (2 * bit + 1);
+        }
+        return key;
+    }
+
+    /**
+     * Clusters of single level. Until {@link #finish()} is called x and y hold sums weighted by z.
+     */
+    private static class Level {
+        final int size;
+        final int[] keys;
+        final float[] x;
+        final float[] y;
+        final float[] sumX;
+        final float[] sumY;
+        final float[] z;
+        final int[] counts;
+        final float[] maxZ;
+        final int[] colors;
+        float maxClusterZ;
+        /**
+         * Index of cluster centers, null until the level is queried.
+         */
+        ValueGridIndex index;
+
+        Level(int size) {
+            this.size = size;
+            keys = new int[size];
+            x = new float[size];
+            y = new float[size];
+            sumX = new float[size];
+            sumY = new float[size];
+            z = new float[size];
+            counts = new int[size];
+            maxZ = new float[size];
+            colors = new int[size];
+            Arrays.fill(maxZ, -1);
+        }
+
+        void add(int cluster, float weightedX, float weightedY, float memberSumX, float memberSumY, float memberZ,
+                 int membersCount, float memberMaxZ, int memberColor) {
+            x[cluster] += weightedX;
+            y[cluster] += weightedY;
+            sumX[cluster] += memberSumX;
+            sumY[cluster] += memberSumY;
+            z[cluster] += memberZ;
+            counts[cluster] += membersCount;
+            if (memberMaxZ > maxZ[cluster]) {
+                maxZ[cluster] = memberMaxZ;
+                colors[cluster] = memberColor;
+            }
+        }
+
+        ValueGridIndex obtainIndex() {
+            if (null == index) {
+                final float[] points = new float[size * 2];
+                for (int i = 0; i < size; ++i) {
+                    points[i * 2] = x[i];
+                    points[i * 2 + 1] = y[i];
+                }
+                index = new ValueGridIndex();
+                index.build(points, size);
+            }
+            return index;
+        }
+
+        /**
+         * Converts sums to centers, clusters with zero z have centers in the mean of their members.
+         */
+        void finish() {
+            for (int i = 0; i < size; ++i) {
+                maxClusterZ = Math.max(maxClusterZ, z[i]);
+                if (z[i] > 0) {
+                    x[i] /= z[i];
+                    y[i] /= z[i];
+                } else {
+                    x[i] = sumX[i] / counts[i];
+                    y[i] = sumY[i] / counts[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package lecho.lib.hellocharts.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lecho.lib.hellocharts.model.Column;
+import lecho.lib.hellocharts.model.ColumnAggregation;
+import lecho.lib.hellocharts.model.SubcolumnValue;
+
+/**
+ * Multi-resolution summary of column chart values used to draw columns merged into bins when there are more columns
+ * than pixels. Level 0 merges every 2 adjacent columns, level 1 every 4 columns and so on, every level is computed
+ * from the previous one so summary is built in O(number of subcolumns). Subcolumns are merged by index, subcolumn i of
+ * bin is aggregated from subcolumns i of merged columns and has color of the first of them.
+ * <p/>
+ * Arrays of levels are reused between builds if they are big enough, so rebuilding summary on every step of data
+ * animation only recomputes values in place.
+ */
+public class ColumnSummary {
+    private ColumnAggregation aggregation = ColumnAggregation.NONE;
+    private float baseValue;
+    /**
+     * Original columns as level with bins of size 1, it is not exposed.
+     */
+    private Level columnsLevel = new Level();
+    private List<Level> levels = new ArrayList<Level>();
+    private int levelsCount;
+
+    /**
+     * Builds summary for given columns, should be called every time columns values change.
+     */
+    public void build(List<Column> columns, ColumnAggregation aggregation, float baseValue) {
+        this.aggregation = aggregation;
+        this.baseValue = baseValue;
+        levelsCount = 0;
+        if (ColumnAggregation.NONE.equals(aggregation) || columns.size() < 2) {
+            return;
+        }
+
+        final int columnsCount = columns.size();
+        Level level = columnsLevel;
+        level.resizeBins(columnsCount);
+        level.resizeSubcolumns(countSubcolumns(columns));
+        int subcolumnIndex = 0;
+        for (int columnIndex = 0; columnIndex < columnsCount; ++columnIndex) {
+            level.offsets[columnIndex] = subcolumnIndex;
+            for (SubcolumnValue columnValue : columns.get(columnIndex).getValues()) {
+                level.values[subcolumnIndex] = columnValue.getValue();
+                level.counts[subcolumnIndex] = 1;
+                level.colors[subcolumnIndex] = columnValue.getColor();
+                ++subcolumnIndex;
+            }
+        }
+        level.offsets[columnsCount] = subcolumnIndex;
+
+        while (level.binsCount > 1) {
+            if (levels.size() == levelsCount) {
+                levels.add(new Level());
+            }
+            final Level mergedLevel = levels.get(levelsCount);
+            mergeLevel(level, mergedLevel);
+            ++levelsCount;
+            level = mergedLevel;
+        }
+    }
+
+    /**
+     * Returns number of levels, 0 if aggregation is disabled.
+     */
+    public int getLevelsCount() {
+        return levelsCount;
+    }
+
+    /**
+     * Returns number of columns merged into single bin at given level.
+     */
+    public int getBinSize(int level) {
+        return 2 << level;
+    }
+
+    public int getBinsCount(int level) {
+        return levels.get(level).binsCount;
+    }
+
+    public int getSubcolumnsCount(int level, int bin) {
+        final Level summaryLevel = levels.get(level);
+        return summaryLevel.offsets[bin + 1] - summaryLevel.offsets[bin];
+    }
+
+    public float getValue(int level, int bin, int subcolumn) {
+        final Level summaryLevel = levels.get(level);
+        final int index = summaryLevel.offsets[bin] + subcolumn;
+        if (ColumnAggregation.MEAN.equals(aggregation)) {
+            return summaryLevel.values[index] / summaryLevel.counts[index];
+        }
+        return summaryLevel.values[index];
+    }
+
+    public int getColor(int level, int bin, int subcolumn) {
+        final Level summaryLevel = levels.get(level);
+        return summaryLevel.colors[summaryLevel.offsets[bin] + subcolumn];
+    }
+
+    private void mergeLevel(Level source, Level level) {
+        final int binsCount = (source.binsCount + 1) / 2;
+        // Merged bin has as many subcolumns as the bigger of two merged bins.
+        level.resizeBins(binsCount);
+        final int[] offsets = level.offsets;
+        int subcolumnIndex = 0;
+        for (int bin = 0; bin < binsCount; ++bin) {
+            offsets[bin] = subcolumnIndex;
+            final int first = bin * 2;
+            final int second = Math.min(first + 1, source.binsCount - 1);
+            subcolumnIndex += Math.max(source.offsets[first + 1] - source.offsets[first],
+                    source.offsets[second + 1] - source.offsets[second]);
+        }
+        offsets[binsCount] = subcolumnIndex;
+        level.resizeSubcolumns(subcolumnIndex);
+
+        for (int bin = 0; bin < binsCount; ++bin) {
+            final int first = bin * 2;
+            final int second = first + 1;
+            final int subcolumnsCount = offsets[bin + 1] - offsets[bin];
+            for (int subcolumn = 0; subcolumn < subcolumnsCount; ++subcolumn) {
+                final int index = offsets[bin] + subcolumn;
+                final int firstIndex = source.offsets[first] + subcolumn;
+                final boolean hasFirst = firstIndex < source.offsets[first + 1];
+                final int secondIndex = second < source.binsCount ? source.offsets[second] + subcolumn : -1;
+                final boolean hasSecond = secondIndex >= 0 && secondIndex < source.offsets[second + 1];
+                if (hasFirst && hasSecond) {
+                    level.values[index] = merge(source.values[firstIndex], source.values[secondIndex]);
+                    level.counts[index] = source.counts[firstIndex] + source.counts[secondIndex];
+                    level.colors[index] = source.colors[firstIndex];
+                } else {
+                    final int existingIndex = hasFirst ? firstIndex : secondIndex;
+                    level.values[index] = source.values[existingIndex];
+                    level.counts[index] = source.counts[existingIndex];
+                    level.colors[index] = source.colors[existingIndex];
+                }
+            }
+        }
+    }
+
+    private float merge(float first, float second) {
+        if (ColumnAggregation.MAX.equals(aggregation)) {
+            return Math.abs(first - baseValue) >= Math.abs(second - baseValue) ? first : second;
+        }
+        // SUM and MEAN keep sums, mean is computed when value is read.
+        return first + second;
+    }
+
+    private static int countSubcolumns(List<Column> columns) {
+        int subcolumnsCount = 0;
+        for (Column column : columns) {
+            subcolumnsCount += column.getValues().size();
+        }
+        return subcolumnsCount;
+    }
+
+    private static class Level {
+        private int binsCount;
+        private int[] offsets = new int[0];
+        private float[] values = new float[0];
+        private int[] counts = new int[0];
+        private int[] colors = new int[0];
+
+        /**
+         * Sets number of bins, offsets array is reallocated only if it is too small.
+         */
+        void resizeBins(int binsCount) {
+            this.binsCount = binsCount;
+            if (offsets.length < binsCount + 1) {
+                offsets = new int[binsCount + 1];
+            }
+        }
+
+        /**
+         * Makes sure values, counts and colors arrays can hold given number of subcolumns.
+         */
+        void resizeSubcolumns(int subcolumnsCount) {
+            if (values.length < subcolumnsCount) {
+                values = new float[subcolumnsCount];
+                counts = new int[subcolumnsCount];
+                colors = new int[subcolumnsCount];
+            }
+        }
+    }
+}
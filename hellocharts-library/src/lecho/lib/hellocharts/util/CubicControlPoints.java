@@ -0,0 +1,107 @@
+package lecho.lib.hellocharts.util;
+
+/**
+ * Computes control points of cubic Bezier segments for smooth lines. Points are stored as interleaved coordinates
+ * [x0, y0, x1, y1, ...]. Control points of segment that ends at point i are stored in output array at i * 4 as [first
+ * control point x, first control point y, second control point x, second control point y], slots for point 0 are not
+ * used so output array must have at least pointsNumber * 4 length.
+ * <p/>
+ * Both methods are invariant to scaling and translation of coordinates so control points can be computed once in data
+ * space and then transformed to pixels together with points.
+ */
+public class CubicControlPoints {
+
+    /**
+     * Computes control points the same way line chart always did, using neighbouring points(clamped to the first and
+     * the last point) scaled by smoothness.
+     */
+    public static void computeSmooth(float[] points, int pointsNumber, float smoothness, float[] outControlPoints) {
+        for (int i = 1; i < pointsNumber; ++i) {
+            final int previousIndex = i - 1;
+            final int prePreviousIndex = Math.max(i - 2, 0);
+            final int nextIndex = Math.min(i + 1, pointsNumber - 1);
+            final float currentX = points[i * 2];
+            final float currentY = points[i * 2 + 1];
+            final float previousX = points[previousIndex * 2];
+            final float previousY = points[previousIndex * 2 + 1];
+
+            final float firstDiffX = currentX - points[prePreviousIndex * 2];
+            final float firstDiffY = currentY - points[prePreviousIndex * 2 + 1];
+            final float secondDiffX = points[nextIndex * 2] - previousX;
+            final float secondDiffY = points[nextIndex * 2 + 1] - previousY;
+            outControlPoints[i * 4] = previousX + smoothness * firstDiffX;
+            outControlPoints[i * 4 + 1] = previousY + smoothness * firstDiffY;
+            outControlPoints[i * 4 + 2] = currentX - smoothness * secondDiffX;
+            outControlPoints[i * 4 + 3] = currentY - smoothness * secondDiffY;
+        }
+    }
+
+    /**
+     * Computes control points of monotone cubic Hermite spline(Fritsch-Carlson method). Curve doesn't overshoot so
+     * between two points it stays within their Y range. Points have to be sorted by X.
+     */
+    public static void computeMonotone(float[] points, int pointsNumber, float[] outControlPoints) {
+        if (pointsNumber < 2) {
+            return;
+        }
+        // Tangent of point k is temporarily stored at outControlPoints[k * 4].
+        for (int k = 0; k < pointsNumber; ++k) {
+            final float tangent;
+            if (k == 0) {
+                tangent = computeSlope(points, 0);
+            } else if (k == pointsNumber - 1) {
+                tangent = computeSlope(points, k - 1);
+            } else {
+                final float previousSlope = computeSlope(points, k - 1);
+                final float nextSlope = computeSlope(points, k);
+                tangent = previousSlope * nextSlope <= 0 ? 0 : (previousSlope + nextSlope) / 2;
+            }
+            outControlPoints[k * 4] = tangent;
+        }
+
+        // Limit tangents so spline is monotone between points.
+        for (int k = 0; k < pointsNumber - 1; ++k) {
+            final float slope = computeSlope(points, k);
+            if (slope == 0) {
+                outControlPoints[k * 4] = 0;
+                outControlPoints[(k + 1) * 4] = 0;
+                continue;
+            }
+            final float alpha = outControlPoints[k * 4] / slope;
+            final float beta = outControlPoints[(k + 1) * 4] / slope;
+            final float length = alpha * alpha + beta * beta;
+            if (length > 9) {
+                final float tau = (float) (3 / Math.sqrt(length));
+                outControlPoints[k * 4] = tau * alpha * slope;
+                outControlPoints[(k + 1) * 4] = tau * beta * slope;
+            }
+        }
+
+        // Convert Hermite tangents to Bezier control points, tangent of point i is read before it is overwritten.
+        float previousTangent = outControlPoints[0];
+        for (int i = 1; i < pointsNumber; ++i) {
+            final float tangent = outControlPoints[i * 4];
+            final float previousX = points[(i - 1) * 2];
+            final float previousY = points[(i - 1) * 2 + 1];
+            final float currentX = points[i * 2];
+            final float currentY = points[i * 2 + 1];
+            final float third = (currentX - previousX) / 3;
+            outControlPoints[i * 4] = previousX + third;
+            outControlPoints[i * 4 + 1] = previousY + previousTangent * third;
+            outControlPoints[i * 4 + 2] = currentX - third;
+            outControlPoints[i * 4 + 3] = currentY - tangent * third;
+            previousTangent = tangent;
+        }
+    }
+
+    /**
+     * Returns slope of segment between point k and k + 1, vertical segments have slope 0.
+     */
+    private static float computeSlope(float[] points, int k) {
+        final float diffX = points[(k + 1) * 2] - points[k * 2];
+        if (diffX == 0) {
+            return 0;
+        }
+        return (points[(k + 1) * 2 + 1] - points[k * 2 + 1]) / diffX;
+    }
+}
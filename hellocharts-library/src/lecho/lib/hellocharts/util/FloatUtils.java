@@ -152,7 +152,6 @@ public class FloatUtils {
     public static void computeAutoGeneratedAxisValues(float start, float stop, int steps, AxisAutoValues outValues) {
         double range = stop - start;
         if (steps == 0 || range <= 0) {
-            outValues.values = new float[]{};
             outValues.valuesNumber = 0;
             return;
         }
@@ -0,0 +1,92 @@
+package lecho.lib.hellocharts.util;
+
+/**
+ * Reduces number of line vertices before they are pushed into the Path. Points are grouped into buckets of given
+ * width(in pixels) and for every bucket only first, lowest, highest and last point is kept(min/max decimation), so
+ * peaks stay visible and there are at most four vertices per bucket.
+ */
+public class LineDecimator {
+    /**
+     * Maximum number of points that can be emitted for single bucket.
+     */
+    public static final int MAX_POINTS_PER_BUCKET = 4;
+
+    /**
+     * Decimates points using min/max per bucket. Points are stored as interleaved raw coordinates
+     * [x0, y0, x1, y1, ...], the same layout is used for output. Buckets are computed from X coordinate so points
+     * should be sorted by X, for unsorted points decimation still works but is less effective because bucket is
+     * flushed every time X coordinate leaves it.
+     *
+     * @param points       source points
+     * @param pointsNumber number of points(not floats) in source array
+     * @param bucketWidth  width of single bucket, for raw coordinates 1 means one pixel column
+     * @param outPoints    destination array, must have at least pointsNumber * 2 length, it can be the same array as
+     *                     points
+     * @return number of points stored in outPoints
+     */
+    public static int decimate(float[] points, int pointsNumber, float bucketWidth, float[] outPoints) {
+        if (pointsNumber <= 2 || bucketWidth <= 0) {
+            if (points != outPoints) {
+                System.arraycopy(points, 0, outPoints, 0, pointsNumber * 2);
+            }
+            return pointsNumber;
+        }
+
+        int outNumber = 0;
+        int bucketFirst = 0;
+        int bucketMin = 0;
+        int bucketMax = 0;
+        long bucket = computeBucket(points[0], bucketWidth);
+
+        for (int i = 1; i < pointsNumber; ++i) {
+            final long currentBucket = computeBucket(points[i * 2], bucketWidth);
+            if (currentBucket != bucket) {
+                outNumber = flushBucket(points, bucketFirst, bucketMin, bucketMax, i - 1, outPoints, outNumber);
+                bucket = currentBucket;
+                bucketFirst = i;
+                bucketMin = i;
+                bucketMax = i;
+            } else {
+                final float y = points[i * 2 + 1];
+                if (y < points[bucketMin * 2 + 1]) {
+                    bucketMin = i;
+                }
+                if (y > points[bucketMax * 2 + 1]) {
+                    bucketMax = i;
+                }
+            }
+        }
+        return flushBucket(points, bucketFirst, bucketMin, bucketMax, pointsNumber - 1, outPoints, outNumber);
+    }
+
+    private static long computeBucket(float x, float bucketWidth) {
+        return (long) Math.floor(x / bucketWidth);
+    }
+
+    /**
+     * Emits unique indexes first <= min/max <= last in ascending order. Output index is never greater than source
+     * index so decimation can be done in place.
+     */
+    private static int flushBucket(float[] points, int first, int min, int max, int last, float[] outPoints,
+                                   int outNumber) {
+        final int lower = Math.min(min, max);
+        final int upper = Math.max(min, max);
+        outNumber = emitPoint(points, first, outPoints, outNumber);
+        if (lower != first) {
+            outNumber = emitPoint(points, lower, outPoints, outNumber);
+        }
+        if (upper != lower && upper != first) {
+            outNumber = emitPoint(points, upper, outPoints, outNumber);
+        }
+        if (last != upper && last != first) {
+            outNumber = emitPoint(points, last, outPoints, outNumber);
+        }
+        return outNumber;
+    }
+
+    private static int emitPoint(float[] points, int index, float[] outPoints, int outNumber) {
+        outPoints[outNumber * 2] = points[index * 2];
+        outPoints[outNumber * 2 + 1] = points[index * 2 + 1];
+        return outNumber + 1;
+    }
+}
@@ -0,0 +1,164 @@
+package lecho.lib.hellocharts.util;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid index of points in screen space used for touch hit testing. Every point has its own hit radius and is
+ * identified by two indexes(for example line index and value index). Cell size should be not smaller than the biggest
+ * hit radius so only cell under touch point and its eight neighbours have to be checked.
+ * <p/>
+ * Usage: {@link #reset(float, float, float, float, float)}, {@link #add(float, float, float, int, int)} for every
+ * point, {@link #build()} and then {@link #findNearest(float, float)} any number of times.
+ */
+public class PointGridIndex {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private float left;
+    private float top;
+    private float cellSize;
+    private int columnsCount;
+    private int rowsCount;
+
+    private int size;
+    private float[] pointsX = new float[DEFAULT_CAPACITY];
+    private float[] pointsY = new float[DEFAULT_CAPACITY];
+    private float[] radiuses = new float[DEFAULT_CAPACITY];
+    private int[] firstIndexes = new int[DEFAULT_CAPACITY];
+    private int[] secondIndexes = new int[DEFAULT_CAPACITY];
+    private int[] cells = new int[DEFAULT_CAPACITY];
+
+    /**
+     * Point positions sorted by cell, points of cell c are at cellPoints[cellStarts[c]] ... cellPoints[cellStarts[c +
+     * 1] - 1].
+     */
+    private int[] cellStarts = new int[1];
+    private int[] cellPoints = new int[DEFAULT_CAPACITY];
+
+    /**
+     * Removes all points and sets area covered by the grid, points outside of that area are ignored.
+     */
+    public void reset(float left, float top, float right, float bottom, float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.left = left;
+        this.top = top;
+        this.cellSize = cellSize;
+        this.columnsCount = Math.max((int) Math.ceil((right - left) / cellSize), 1);
+        this.rowsCount = Math.max((int) Math.ceil((bottom - top) / cellSize), 1);
+        this.size = 0;
+    }
+
+    /**
+     * Removes all points and shrinks grid to single cell, {@link #findNearest(float, float)} returns -1 until index is
+     * built again.
+     */
+    public void clear() {
+        reset(0, 0, 1, 1, 1);
+        build();
+    }
+
+    /**
+     * Adds point to the index, call {@link #build()} after all points are added.
+     *
+     * @param radius maximum distance from touch point for which this point is hit, should not be greater than cell
+     *               size
+     */
+    public void add(float x, float y, float radius, int firstIndex, int secondIndex) {
+        final int column = (int) Math.floor((x - left) / cellSize);
+        final int row = (int) Math.floor((y - top) / cellSize);
+        if (column < 0 || column >= columnsCount || row < 0 || row >= rowsCount) {
+            return;
+        }
+        ensureCapacity(size + 1);
+        pointsX[size] = x;
+        pointsY[size] = y;
+        radiuses[size] = radius;
+        firstIndexes[size] = firstIndex;
+        secondIndexes[size] = secondIndex;
+        cells[size] = row * columnsCount + column;
+        ++size;
+    }
+
+    /**
+     * Sorts added points into cells using counting sort, O(points + cells).
+     */
+    public void build() {
+        final int cellsCount = columnsCount * rowsCount;
+        if (cellStarts.length < cellsCount + 1) {
+            cellStarts = new int[cellsCount + 1];
+        } else {
+            Arrays.fill(cellStarts, 0, cellsCount + 1, 0);
+        }
+        if (cellPoints.length < size) {
+            cellPoints = new int[pointsX.length];
+        }
+        for (int i = 0; i < size; ++i) {
+            ++cellStarts[cells[i] + 1];
+        }
+        for (int cell = 0; cell < cellsCount; ++cell) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        // Scatter using cellStarts as insert positions then shift them back.
+        for (int i = 0; i < size; ++i) {
+            cellPoints[cellStarts[cells[i]]++] = i;
+        }
+        for (int cell = cellsCount; cell > 0; --cell) {
+            cellStarts[cell] = cellStarts[cell - 1];
+        }
+        cellStarts[0] = 0;
+    }
+
+    /**
+     * Returns position of point nearest to given coordinates for which distance is within point's radius or -1 if
+     * there is no such point. Use {@link #getFirstIndex(int)} and {@link #getSecondIndex(int)} to identify point.
+     */
+    public int findNearest(float x, float y) {
+        final int touchColumn = (int) Math.floor((x - left) / cellSize);
+        final int touchRow = (int) Math.floor((y - top) / cellSize);
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int row = Math.max(touchRow - 1, 0); row <= Math.min(touchRow + 1, rowsCount - 1); ++row) {
+            for (int column = Math.max(touchColumn - 1, 0); column <= Math.min(touchColumn + 1, columnsCount - 1);
+                 ++column) {
+                final int cell = row * columnsCount + column;
+                for (int position = cellStarts[cell]; position < cellStarts[cell + 1]; ++position) {
+                    final int i = cellPoints[position];
+                    final float diffX = x - pointsX[i];
+                    final float diffY = y - pointsY[i];
+                    final float distance = diffX * diffX + diffY * diffY;
+                    if (distance <= radiuses[i] * radiuses[i] && distance < nearestDistance) {
+                        nearest = i;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+        return nearest;
+    }
+
+    public int getFirstIndex(int position) {
+        return firstIndexes[position];
+    }
+
+    public int getSecondIndex(int position) {
+        return secondIndexes[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (pointsX.length >= capacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, pointsX.length * 2);
+        pointsX = Arrays.copyOf(pointsX, newCapacity);
+        pointsY = Arrays.copyOf(pointsY, newCapacity);
+        radiuses = Arrays.copyOf(radiuses, newCapacity);
+        firstIndexes = Arrays.copyOf(firstIndexes, newCapacity);
+        secondIndexes = Arrays.copyOf(secondIndexes, newCapacity);
+        cells = Arrays.copyOf(cells, newCapacity);
+    }
+}
@@ -0,0 +1,163 @@
+package lecho.lib.hellocharts.util;
+
+import java.util.Arrays;
+
+/**
+ * Uniform grid index of values in data space used to find values within given rectangle(for example visible viewport)
+ * without checking all of them. Values are given as interleaved coordinates [x0, y0, x1, y1, ...] and identified by
+ * their position in that array. Index has to be built again when values change.
+ * <p/>
+ * Query results are always returned in ascending order so values can be drawn in the same order as without index.
+ */
+public class ValueGridIndex {
+    private static final int VALUES_PER_CELL = 4;
+    private static final int MAX_CELLS_PER_SIDE = 256;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private float minX;
+    private float minY;
+    private float maxX;
+    private float maxY;
+    private float cellWidth;
+    private float cellHeight;
+    private int cellsPerSide;
+
+    private int size;
+    private float[] points = new float[DEFAULT_CAPACITY * 2];
+
+    /**
+     * Value indexes sorted by cell, values of cell c are at cellValues[cellStarts[c]] ... cellValues[cellStarts[c + 1]
+     * - 1] in ascending order.
+     */
+    private int[] cellStarts = new int[1];
+    private int[] cellValues = new int[DEFAULT_CAPACITY];
+    private int[] cells = new int[DEFAULT_CAPACITY];
+
+    private int[] results = new int[DEFAULT_CAPACITY];
+    private int resultsCount;
+
+    /**
+     * Builds index for given values, points array is copied so it can be reused by caller.
+     */
+    public void build(float[] points, int valuesCount) {
+        if (points.length < valuesCount * 2) {
+            throw new IllegalArgumentException("Points array is too short for " + valuesCount + " values");
+        }
+        ensureCapacity(valuesCount);
+        System.arraycopy(points, 0, this.points, 0, valuesCount * 2);
+        size = valuesCount;
+        resultsCount = 0;
+
+        minX = Float.MAX_VALUE;
+        minY = Float.MAX_VALUE;
+        maxX = -Float.MAX_VALUE;
+        maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < valuesCount; ++i) {
+            minX = Math.min(minX, points[i * 2]);
+            maxX = Math.max(maxX, points[i * 2]);
+            minY = Math.min(minY, points[i * 2 + 1]);
+            maxY = Math.max(maxY, points[i * 2 + 1]);
+        }
+
+        cellsPerSide = Math.min((int) Math.ceil(Math.sqrt((double) valuesCount / VALUES_PER_CELL)),
+                MAX_CELLS_PER_SIDE);
+        cellsPerSide = Math.max(cellsPerSide, 1);
+        cellWidth = maxX > minX ? (maxX - minX) / cellsPerSide : 1;
+        cellHeight = maxY > minY ? (maxY - minY) / cellsPerSide : 1;
+
+        final int cellsCount = cellsPerSide * cellsPerSide;
+        if (cellStarts.length < cellsCount + 1) {
+            cellStarts = new int[cellsCount + 1];
+        } else {
+            Arrays.fill(cellStarts, 0, cellsCount + 1, 0);
+        }
+        for (int i = 0; i < valuesCount; ++i) {
+            cells[i] = computeRow(points[i * 2 + 1]) * cellsPerSide + computeColumn(points[i * 2]);
+            ++cellStarts[cells[i] + 1];
+        }
+        for (int cell = 0; cell < cellsCount; ++cell) {
+            cellStarts[cell + 1] += cellStarts[cell];
+        }
+        // Scatter in ascending order using cellStarts as insert positions then shift them back.
+        for (int i = 0; i < valuesCount; ++i) {
+            cellValues[cellStarts[cells[i]]++] = i;
+        }
+        for (int cell = cellsCount; cell > 0; --cell) {
+            cellStarts[cell] = cellStarts[cell - 1];
+        }
+        cellStarts[0] = 0;
+    }
+
+    /**
+     * Finds values within given rectangle(inclusive), returns number of found values, use {@link #getResult(int)} to
+     * get their indexes.
+     */
+    public int query(float left, float bottom, float right, float top) {
+        resultsCount = 0;
+        if (size == 0 || left > maxX || right < minX || bottom > maxY || top < minY) {
+            return 0;
+        }
+        final int firstColumn = computeColumn(left);
+        final int lastColumn = computeColumn(right);
+        final int firstRow = computeRow(bottom);
+        final int lastRow = computeRow(top);
+        final int cellsInRange = (lastColumn - firstColumn + 1) * (lastRow - firstRow + 1);
+        if (cellsInRange * 2 >= cellsPerSide * cellsPerSide) {
+            // Rectangle covers most of the grid, scanning all values is cheaper than sorting results.
+            for (int i = 0; i < size; ++i) {
+                addIfContains(i, left, bottom, right, top);
+            }
+            return resultsCount;
+        }
+        for (int row = firstRow; row <= lastRow; ++row) {
+            for (int column = firstColumn; column <= lastColumn; ++column) {
+                final int cell = row * cellsPerSide + column;
+                for (int position = cellStarts[cell]; position < cellStarts[cell + 1]; ++position) {
+                    addIfContains(cellValues[position], left, bottom, right, top);
+                }
+            }
+        }
+        Arrays.sort(results, 0, resultsCount);
+        return resultsCount;
+    }
+
+    /**
+     * Returns index of value found by last {@link #query(float, float, float, float)}.
+     */
+    public int getResult(int position) {
+        return results[position];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void addIfContains(int index, float left, float bottom, float right, float top) {
+        final float x = points[index * 2];
+        final float y = points[index * 2 + 1];
+        if (x >= left && x <= right && y >= bottom && y <= top) {
+            results[resultsCount++] = index;
+        }
+    }
+
+    private int computeColumn(float x) {
+        final int column = (int) ((x - minX) / cellWidth);
+        return Math.max(0, Math.min(column, cellsPerSide - 1));
+    }
+
+    private int computeRow(float y) {
+        final int row = (int) ((y - minY) / cellHeight);
+        return Math.max(0, Math.min(row, cellsPerSide - 1));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (cells.length >= capacity) {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, cells.length * 2);
+        points = new float[newCapacity * 2];
+        cells = new int[newCapacity];
+        cellValues = new int[newCapacity];
+        results = new int[newCapacity];
+    }
+}
@@ -42,6 +42,7 @@ public abstract class AbstractChartView extends View implements Chart {
     protected boolean isInteractive = true;
     protected boolean isContainerScrollEnabled = false;
     protected ContainerScrollType containerScrollType;
+    private boolean isScrollInProgress = false;
 
     public AbstractChartView(Context context) {
         this(context, null, 0);
@@ -127,6 +128,11 @@ public abstract class AbstractChartView extends View implements Chart {
         super.computeScroll();
         if (isInteractive) {
             if (touchHandler.computeScroll()) {
+                isScrollInProgress = true;
+                ViewCompat.postInvalidateOnAnimation(this);
+            } else if (isScrollInProgress) {
+                // Redraw once more after scroll/zoom ends, renderers may replace approximated frames drawn during it.
+                isScrollInProgress = false;
                 ViewCompat.postInvalidateOnAnimation(this);
             }
         }
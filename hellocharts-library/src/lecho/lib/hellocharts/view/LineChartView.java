@@ -1,6 +1,7 @@
 package lecho.lib.hellocharts.view;
 
 import android.content.Context;
+import android.support.v4.view.ViewCompat;
 import android.util.AttributeSet;
 import android.util.Log;
 
@@ -8,8 +9,11 @@ import lecho.lib.hellocharts.BuildConfig;
 import lecho.lib.hellocharts.listener.DummyLineChartOnValueSelectListener;
 import lecho.lib.hellocharts.listener.LineChartOnValueSelectListener;
 import lecho.lib.hellocharts.model.ChartData;
+import lecho.lib.hellocharts.model.Line;
 import lecho.lib.hellocharts.model.LineChartData;
 import lecho.lib.hellocharts.model.PointValue;
+import lecho.lib.hellocharts.model.PointValueArray;
+import lecho.lib.hellocharts.model.PointValueRingBuffer;
 import lecho.lib.hellocharts.model.SelectedValue;
 import lecho.lib.hellocharts.provider.LineChartDataProvider;
 import lecho.lib.hellocharts.renderer.LineChartRenderer;
@@ -59,6 +63,26 @@ public class LineChartView extends AbstractChartView implements LineChartDataPro
         super.onChartDataChange();
     }
 
+    /**
+     * Appends value to line that uses columnar storage(see {@link Line#setValueArray(PointValueArray)}), for
+     * {@link PointValueRingBuffer} the oldest value is evicted when buffer is full. Unlike
+     * {@link #setLineChartData(LineChartData)} this method doesn't reprocess the whole chart data, only viewport is
+     * recalculated(if viewport calculation is enabled) and cached paths of the modified line are invalidated.
+     */
+    public void appendValue(int lineIndex, float x, float y) {
+        final PointValueArray valueArray = data.getLines().get(lineIndex).getValueArray();
+        if (null == valueArray) {
+            throw new IllegalStateException("Line " + lineIndex + " doesn't use PointValueArray storage");
+        }
+        valueArray.add(x, y);
+        if (chartRenderer instanceof LineChartRenderer) {
+            ((LineChartRenderer) chartRenderer).onChartValuesAppended();
+        } else {
+            chartRenderer.onChartViewportChanged();
+        }
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
     @Override
     public ChartData getChartData() {
         return data;
@@ -148,6 +148,22 @@ public class PieChartView extends AbstractChartView implements PieChartDataProvi
         ViewCompat.postInvalidateOnAnimation(this);
     }
 
+    /**
+     * Tells renderer that continuous rotation(touch gesture, fling or animation) started or settled. When rotation
+     * settles chart is invalidated so it is fully re-rendered. Called by touch handler and rotation animators.
+     *
+     * @see PieChartRenderer#setRotationLayerEnabled(boolean)
+     */
+    public void setChartRotationInProgress(boolean isInProgress) {
+        if (pieChartRenderer.isRotationInProgress() == isInProgress) {
+            return;
+        }
+        pieChartRenderer.setRotationInProgress(isInProgress);
+        if (!isInProgress) {
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
     public boolean isChartRotationEnabled() {
         if (touchHandler instanceof PieChartTouchHandler) {
             return ((PieChartTouchHandler) touchHandler).isRotationEnabled();
@@ -0,0 +1,86 @@
+package lecho.lib.hellocharts.model;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PointValueRingBufferTest {
+    private static final float DELTA = 0f;
+
+    @Test
+    public void evictsOldestValueWhenFull() {
+        final PointValueRingBuffer buffer = new PointValueRingBuffer(3);
+        buffer.add(0, 10).add(1, 11).add(2, 12).add(3, 13);
+
+        assertEquals(3, buffer.size());
+        assertTrue(buffer.isFull());
+        assertEquals(1, buffer.getX(0), DELTA);
+        assertEquals(13, buffer.getY(2), DELTA);
+    }
+
+    @Test
+    public void tracksExtremesAfterEvictions() {
+        final int capacity = 50;
+        final PointValueRingBuffer buffer = new PointValueRingBuffer(capacity);
+        final Random random = new Random(1);
+        for (int i = 0; i < 1000; ++i) {
+            buffer.append(random.nextFloat() * 100 - 50, random.nextFloat() * 100 - 50);
+            if (i % 7 == 0) {
+                buffer.evict(random.nextInt(5));
+            }
+            if (!buffer.isEmpty()) {
+                assertBounds(buffer);
+            }
+        }
+    }
+
+    @Test
+    public void tracksExtremesAfterValueIsSet() {
+        final PointValueRingBuffer buffer = new PointValueRingBuffer(4);
+        buffer.add(0, 1).add(1, 5).add(2, 3).add(3, 2).add(4, 4);
+        assertEquals(5, buffer.getMaxY(), DELTA);
+
+        buffer.set(0, 1, 0);
+        assertBounds(buffer);
+
+        buffer.evict(1);
+        buffer.add(5, 9);
+        assertBounds(buffer);
+    }
+
+    @Test
+    public void noOpEvictDoesNotChangeVersion() {
+        final PointValueRingBuffer buffer = new PointValueRingBuffer(4);
+        final int emptyVersion = buffer.getVersion();
+        buffer.evict(1);
+        assertEquals(emptyVersion, buffer.getVersion());
+
+        buffer.add(0, 0);
+        final int version = buffer.getVersion();
+        buffer.evict(0);
+        assertEquals(version, buffer.getVersion());
+        buffer.evict(1);
+        assertTrue(version != buffer.getVersion());
+        assertTrue(buffer.isEmpty());
+    }
+
+    private static void assertBounds(PointValueRingBuffer buffer) {
+        float minX = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < buffer.size(); ++i) {
+            minX = Math.min(minX, buffer.getX(i));
+            maxX = Math.max(maxX, buffer.getX(i));
+            minY = Math.min(minY, buffer.getY(i));
+            maxY = Math.max(maxY, buffer.getY(i));
+        }
+        assertEquals(minX, buffer.getMinX(), DELTA);
+        assertEquals(maxX, buffer.getMaxX(), DELTA);
+        assertEquals(minY, buffer.getMinY(), DELTA);
+        assertEquals(maxY, buffer.getMaxY(), DELTA);
+    }
+}
@@ -0,0 +1,100 @@
+package lecho.lib.hellocharts.renderer;
+
+import org.junit.Test;
+
+import lecho.lib.hellocharts.formatter.AxisValueFormatter;
+import lecho.lib.hellocharts.formatter.SimpleAxisValueFormatter;
+import lecho.lib.hellocharts.model.AxisValue;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AxisLabelCacheTest {
+    private static final char[] LABEL_1 = "1".toCharArray();
+    private static final char[] LABEL_2 = "2".toCharArray();
+    private static final char[] LABEL_3 = "3".toCharArray();
+
+    @Test
+    public void evictsLeastRecentlyUsedLabel() {
+        final AxisLabelCache cache = new AxisLabelCache(2);
+        cache.putAutoLabel(1, 0, LABEL_1);
+        cache.putAutoLabel(2, 0, LABEL_2);
+
+        // Reading label 1 makes label 2 the least recently used one.
+        assertSame(LABEL_1, cache.getAutoLabel(1, 0));
+        cache.putAutoLabel(3, 0, LABEL_3);
+
+        assertSame(LABEL_1, cache.getAutoLabel(1, 0));
+        assertNull(cache.getAutoLabel(2, 0));
+        assertSame(LABEL_3, cache.getAutoLabel(3, 0));
+    }
+
+    @Test
+    public void autoLabelsAreIdentifiedByValueAndDecimals() {
+        final AxisLabelCache cache = new AxisLabelCache();
+        cache.putAutoLabel(1, 0, LABEL_1);
+
+        assertSame(LABEL_1, cache.getAutoLabel(1, 0));
+        assertNull(cache.getAutoLabel(1, 1));
+        assertNull(cache.getAutoLabel(2, 0));
+    }
+
+    @Test
+    public void clearsWhenAttributesChange() {
+        final AxisValueFormatter formatter = new SimpleAxisValueFormatter();
+        final AxisLabelCache cache = new AxisLabelCache();
+        cache.checkAttributes(formatter, 12, null, false);
+
+        cache.putAutoLabel(1, 0, LABEL_1);
+        cache.checkAttributes(formatter, 12, null, false);
+        assertSame(LABEL_1, cache.getAutoLabel(1, 0));
+
+        cache.checkAttributes(new SimpleAxisValueFormatter(), 12, null, false);
+        assertNull(cache.getAutoLabel(1, 0));
+
+        cache.putAutoLabel(1, 0, LABEL_1);
+        cache.checkAttributes(formatter, 14, null, false);
+        assertNull(cache.getAutoLabel(1, 0));
+
+        cache.putAutoLabel(1, 0, LABEL_1);
+        cache.checkAttributes(formatter, 14, null, true);
+        assertNull(cache.getAutoLabel(1, 0));
+    }
+
+    @Test
+    public void customLabelIsInvalidatedWhenAxisValueChanges() {
+        final AxisLabelCache cache = new AxisLabelCache();
+        final AxisValue axisValue = new AxisValue(1).setLabel("a");
+        cache.putLabel(axisValue, LABEL_1);
+        assertSame(LABEL_1, cache.getLabel(axisValue));
+
+        axisValue.setValue(2);
+        assertNull(cache.getLabel(axisValue));
+
+        cache.putLabel(axisValue, LABEL_2);
+        axisValue.setLabel("b");
+        assertNull(cache.getLabel(axisValue));
+    }
+
+    @Test
+    public void equalAxisValuesDoNotShareLabels() {
+        final AxisLabelCache cache = new AxisLabelCache();
+        final AxisValue axisValue = new AxisValue(1);
+        cache.putLabel(axisValue, LABEL_1);
+
+        assertNull(cache.getLabel(new AxisValue(axisValue)));
+    }
+
+    @Test
+    public void clearRemovesAllLabels() {
+        final AxisLabelCache cache = new AxisLabelCache();
+        final AxisValue axisValue = new AxisValue(1);
+        cache.putAutoLabel(1, 0, LABEL_1);
+        cache.putLabel(axisValue, LABEL_2);
+
+        cache.clear();
+
+        assertNull(cache.getAutoLabel(1, 0));
+        assertNull(cache.getLabel(axisValue));
+    }
+}
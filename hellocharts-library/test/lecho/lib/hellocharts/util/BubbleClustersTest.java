@@ -0,0 +1,161 @@
+package lecho.lib.hellocharts.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import lecho.lib.hellocharts.model.BubbleValue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BubbleClustersTest {
+    private static final float DELTA = 1e-3f;
+    private static final int MAX_LEVEL = 12;
+
+    @Test
+    public void clustersHaveWeightedCentersSummedZAndColorOfBiggestMember() {
+        final List<BubbleValue> values = new ArrayList<BubbleValue>();
+        values.add(new BubbleValue(0, 0, 1, 1));
+        values.add(new BubbleValue(1, 1, 3, 2));
+        values.add(new BubbleValue(1000, 1000, 2, 3));
+        values.add(new BubbleValue(999, 999, -4, 4));
+        final BubbleClusters clusters = new BubbleClusters();
+
+        clusters.build(values);
+
+        // Finer levels would keep every bubble separate so the finest built level has two clusters.
+        final int level = findFinestLevel(clusters, values);
+        assertEquals(3, level);
+        assertEquals(2, clusters.getClustersCount(level));
+        assertEquals(0.75f, clusters.getX(level, 0), DELTA);
+        assertEquals(0.75f, clusters.getY(level, 0), DELTA);
+        assertEquals(4, clusters.getZ(level, 0), DELTA);
+        assertEquals(2, clusters.getColor(level, 0));
+        assertEquals(2, clusters.getMembersCount(level, 0));
+        // Absolute z values are used as weights.
+        assertEquals(999 + 1f / 3, clusters.getX(level, 1), DELTA);
+        assertEquals(6, clusters.getZ(level, 1), DELTA);
+        assertEquals(4, clusters.getColor(level, 1));
+
+        assertEquals(1, clusters.getClustersCount(MAX_LEVEL));
+        assertEquals(10, clusters.getZ(MAX_LEVEL, 0), DELTA);
+        assertEquals(4, clusters.getMembersCount(MAX_LEVEL, 0));
+    }
+
+    @Test
+    public void everyLevelPreservesMembersCountAndZSum() {
+        final Random random = new Random(1);
+        final List<BubbleValue> values = new ArrayList<BubbleValue>();
+        double zSum = 0;
+        for (int i = 0; i < 20000; ++i) {
+            final float z = random.nextFloat() * 10;
+            values.add(new BubbleValue(random.nextFloat() * 1000, random.nextFloat() * 500, z));
+            zSum += z;
+        }
+        final BubbleClusters clusters = new BubbleClusters();
+
+        clusters.build(values);
+
+        final int finestLevel = findFinestLevel(clusters, values);
+        assertTrue(finestLevel >= 0);
+        int previousCount = Integer.MAX_VALUE;
+        for (int level = finestLevel; level <= MAX_LEVEL; ++level) {
+            final int count = clusters.getClustersCount(level);
+            assertTrue(count <= values.size() / 2);
+            assertTrue(count <= previousCount);
+            previousCount = count;
+            int members = 0;
+            double levelZSum = 0;
+            for (int cluster = 0; cluster < count; ++cluster) {
+                members += clusters.getMembersCount(level, cluster);
+                levelZSum += clusters.getZ(level, cluster);
+            }
+            assertEquals(values.size(), members);
+            assertEquals(zSum, levelZSum, zSum * 1e-4);
+        }
+    }
+
+    @Test
+    public void queryFindsClustersWithinRectangle() {
+        final Random random = new Random(2);
+        final List<BubbleValue> values = new ArrayList<BubbleValue>();
+        for (int i = 0; i < 20000; ++i) {
+            values.add(new BubbleValue(random.nextFloat() * 1000, random.nextFloat() * 1000, 1));
+        }
+        final BubbleClusters clusters = new BubbleClusters();
+        clusters.build(values);
+        final int level = findFinestLevel(clusters, values);
+
+        final int count = clusters.query(level, 100, 200, 300, 250);
+
+        final Set<Integer> found = new HashSet<Integer>();
+        int previous = -1;
+        for (int i = 0; i < count; ++i) {
+            final int cluster = clusters.getQueryResult(level, i);
+            assertTrue(cluster > previous);
+            previous = cluster;
+            found.add(cluster);
+        }
+        for (int cluster = 0; cluster < clusters.getClustersCount(level); ++cluster) {
+            final float x = clusters.getX(level, cluster);
+            final float y = clusters.getY(level, cluster);
+            assertEquals(x >= 100 && x <= 300 && y >= 200 && y <= 250, found.contains(cluster));
+        }
+    }
+
+    @Test
+    public void findLevelReturnsCoarserLevelsForBiggerCells() {
+        final Random random = new Random(3);
+        final List<BubbleValue> values = new ArrayList<BubbleValue>();
+        for (int i = 0; i < 5000; ++i) {
+            values.add(new BubbleValue(random.nextFloat() * 4096, random.nextFloat() * 4096, 1));
+        }
+        final BubbleClusters clusters = new BubbleClusters();
+        clusters.build(values);
+
+        // Data is about 4096 wide so level L has cells about 2^L wide.
+        assertEquals(-1, clusters.findLevel(0.5f, 0.5f));
+        assertEquals(10, clusters.findLevel(1000, 1000));
+        assertEquals(MAX_LEVEL, clusters.findLevel(10000, 10000));
+    }
+
+    @Test
+    public void fewBubblesAreNotClustered() {
+        final List<BubbleValue> values = new ArrayList<BubbleValue>();
+        values.add(new BubbleValue(1, 1, 1));
+        final BubbleClusters clusters = new BubbleClusters();
+
+        clusters.build(values);
+
+        assertEquals(-1, clusters.findLevel(100, 100));
+    }
+
+    /**
+     * Returns the finest built level, for smaller cells {@link BubbleClusters#findLevel(float, float)} returns -1.
+     */
+    private static int findFinestLevel(BubbleClusters clusters, List<BubbleValue> values) {
+        float left = Float.MAX_VALUE;
+        float right = -Float.MAX_VALUE;
+        float bottom = Float.MAX_VALUE;
+        float top = -Float.MAX_VALUE;
+        for (BubbleValue value : values) {
+            left = Math.min(left, value.getX());
+            right = Math.max(right, value.getX());
+            bottom = Math.min(bottom, value.getY());
+            top = Math.max(top, value.getY());
+        }
+        for (int level = 0; level <= MAX_LEVEL; ++level) {
+            final float scale = (float) (1 << level) / (1 << MAX_LEVEL);
+            final int foundLevel = clusters.findLevel((right - left) * scale, (top - bottom) * scale);
+            if (foundLevel >= 0) {
+                return foundLevel;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,132 @@
+package lecho.lib.hellocharts.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import lecho.lib.hellocharts.model.Column;
+import lecho.lib.hellocharts.model.ColumnAggregation;
+import lecho.lib.hellocharts.model.SubcolumnValue;
+
+import static org.junit.Assert.assertEquals;
+
+public class ColumnSummaryTest {
+    private static final float DELTA = 1e-3f;
+
+    @Test
+    public void maxKeepsValueFarthestFromBaseValue() {
+        final List<Column> columns = createColumns(new float[]{1, -7, 3, 2, 6, 0});
+        final ColumnSummary summary = new ColumnSummary();
+
+        summary.build(columns, ColumnAggregation.MAX, 0);
+
+        assertEquals(3, summary.getBinsCount(0));
+        assertEquals(-7, summary.getValue(0, 0, 0), DELTA);
+        assertEquals(3, summary.getValue(0, 1, 0), DELTA);
+        assertEquals(6, summary.getValue(0, 2, 0), DELTA);
+        // Level 1 merges 4 columns, the last bin has only 2 of them.
+        assertEquals(-7, summary.getValue(1, 0, 0), DELTA);
+        assertEquals(6, summary.getValue(1, 1, 0), DELTA);
+    }
+
+    @Test
+    public void maxUsesBaseValue() {
+        final List<Column> columns = createColumns(new float[]{1, 9});
+        final ColumnSummary summary = new ColumnSummary();
+
+        summary.build(columns, ColumnAggregation.MAX, 8);
+
+        assertEquals(1, summary.getValue(0, 0, 0), DELTA);
+    }
+
+    @Test
+    public void sumAndMeanMatchBruteForceOnEveryLevel() {
+        final Random random = new Random(1);
+        final float[] values = new float[1001];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = random.nextFloat() * 100;
+        }
+        final List<Column> columns = createColumns(values);
+        final ColumnSummary sumSummary = new ColumnSummary();
+        final ColumnSummary meanSummary = new ColumnSummary();
+
+        sumSummary.build(columns, ColumnAggregation.SUM, 0);
+        meanSummary.build(columns, ColumnAggregation.MEAN, 0);
+
+        assertEquals(10, sumSummary.getLevelsCount());
+        for (int level = 0; level < sumSummary.getLevelsCount(); ++level) {
+            final int binSize = sumSummary.getBinSize(level);
+            assertEquals((values.length + binSize - 1) / binSize, sumSummary.getBinsCount(level));
+            for (int bin = 0; bin < sumSummary.getBinsCount(level); ++bin) {
+                float sum = 0;
+                int count = 0;
+                for (int i = bin * binSize; i < Math.min((bin + 1) * binSize, values.length); ++i) {
+                    sum += values[i];
+                    ++count;
+                }
+                assertEquals(sum, sumSummary.getValue(level, bin, 0), sum * DELTA);
+                assertEquals(sum / count, meanSummary.getValue(level, bin, 0), DELTA);
+            }
+        }
+    }
+
+    @Test
+    public void mergesSubcolumnsByIndexAndKeepsFirstColor() {
+        final List<Column> columns = new ArrayList<Column>();
+        columns.add(createColumn(new float[]{1, 2}, 10));
+        columns.add(createColumn(new float[]{3, 4, 5}, 20));
+        final ColumnSummary summary = new ColumnSummary();
+
+        summary.build(columns, ColumnAggregation.SUM, 0);
+
+        assertEquals(3, summary.getSubcolumnsCount(0, 0));
+        assertEquals(4, summary.getValue(0, 0, 0), DELTA);
+        assertEquals(6, summary.getValue(0, 0, 1), DELTA);
+        assertEquals(5, summary.getValue(0, 0, 2), DELTA);
+        assertEquals(10, summary.getColor(0, 0, 0));
+        assertEquals(20, summary.getColor(0, 0, 2));
+    }
+
+    @Test
+    public void rebuildReflectsChangedValues() {
+        final List<Column> columns = createColumns(new float[]{1, 2, 3, 4});
+        final ColumnSummary summary = new ColumnSummary();
+        summary.build(columns, ColumnAggregation.SUM, 0);
+
+        columns.get(0).getValues().get(0).setValue(11);
+        columns.remove(3);
+        summary.build(columns, ColumnAggregation.SUM, 0);
+
+        assertEquals(2, summary.getLevelsCount());
+        assertEquals(13, summary.getValue(0, 0, 0), DELTA);
+        assertEquals(3, summary.getValue(0, 1, 0), DELTA);
+        assertEquals(16, summary.getValue(1, 0, 0), DELTA);
+    }
+
+    @Test
+    public void noLevelsWithoutAggregation() {
+        final ColumnSummary summary = new ColumnSummary();
+
+        summary.build(createColumns(new float[]{1, 2, 3}), ColumnAggregation.NONE, 0);
+
+        assertEquals(0, summary.getLevelsCount());
+    }
+
+    private static List<Column> createColumns(float[] values) {
+        final List<Column> columns = new ArrayList<Column>(values.length);
+        for (float value : values) {
+            columns.add(createColumn(new float[]{value}, 0));
+        }
+        return columns;
+    }
+
+    private static Column createColumn(float[] values, int color) {
+        final List<SubcolumnValue> subcolumns = new ArrayList<SubcolumnValue>(values.length);
+        for (float value : values) {
+            subcolumns.add(new SubcolumnValue(value, color));
+        }
+        return new Column(subcolumns);
+    }
+}
@@ -0,0 +1,104 @@
+package lecho.lib.hellocharts.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CubicControlPointsTest {
+    private static final float DELTA = 1e-4f;
+    private static final int CURVE_SAMPLES = 32;
+
+    @Test
+    public void monotoneCurveDoesNotOvershootMonotoneData() {
+        final float[] points = new float[]{0, 0, 1, 0.1f, 2, 5, 3, 5.2f, 4, 20, 5, 20, 6, 21};
+        final int pointsNumber = points.length / 2;
+        final float[] controlPoints = new float[pointsNumber * 4];
+
+        CubicControlPoints.computeMonotone(points, pointsNumber, controlPoints);
+
+        assertCurveWithinSegments(points, pointsNumber, controlPoints);
+        assertCurveIsNonDecreasing(points, pointsNumber, controlPoints);
+    }
+
+    @Test
+    public void monotoneCurveStaysWithinSegmentsOfRandomData() {
+        final Random random = new Random(1);
+        final int pointsNumber = 200;
+        final float[] points = new float[pointsNumber * 2];
+        for (int i = 0; i < pointsNumber; ++i) {
+            points[i * 2] = i + random.nextFloat() * 0.5f;
+            points[i * 2 + 1] = random.nextFloat() * 100;
+        }
+        final float[] controlPoints = new float[pointsNumber * 4];
+
+        CubicControlPoints.computeMonotone(points, pointsNumber, controlPoints);
+
+        assertCurveWithinSegments(points, pointsNumber, controlPoints);
+    }
+
+    @Test
+    public void flatSegmentStaysFlat() {
+        final float[] points = new float[]{0, 1, 1, 3, 2, 3, 3, 7};
+        final float[] controlPoints = new float[16];
+
+        CubicControlPoints.computeMonotone(points, 4, controlPoints);
+
+        // Segment between points 1 and 2 is flat so both its control points have Y equal to 3.
+        assertEquals(3, controlPoints[2 * 4 + 1], DELTA);
+        assertEquals(3, controlPoints[2 * 4 + 3], DELTA);
+    }
+
+    @Test
+    public void controlPointsAreInvariantToScaling() {
+        final float[] points = new float[]{0, 2, 1, 3, 3, 1, 4, 8};
+        final float[] scaledPoints = new float[points.length];
+        for (int i = 0; i < points.length; i += 2) {
+            scaledPoints[i] = points[i] * 10 + 5;
+            scaledPoints[i + 1] = points[i + 1] * 3 - 1;
+        }
+        final float[] controlPoints = new float[16];
+        final float[] scaledControlPoints = new float[16];
+
+        CubicControlPoints.computeMonotone(points, 4, controlPoints);
+        CubicControlPoints.computeMonotone(scaledPoints, 4, scaledControlPoints);
+
+        for (int i = 4; i < 16; i += 2) {
+            assertEquals(controlPoints[i] * 10 + 5, scaledControlPoints[i], DELTA * 10);
+            assertEquals(controlPoints[i + 1] * 3 - 1, scaledControlPoints[i + 1], DELTA * 10);
+        }
+    }
+
+    private static void assertCurveWithinSegments(float[] points, int pointsNumber, float[] controlPoints) {
+        for (int i = 1; i < pointsNumber; ++i) {
+            final float minY = Math.min(points[(i - 1) * 2 + 1], points[i * 2 + 1]);
+            final float maxY = Math.max(points[(i - 1) * 2 + 1], points[i * 2 + 1]);
+            for (int sample = 0; sample <= CURVE_SAMPLES; ++sample) {
+                final float y = evaluateY(points, controlPoints, i, (float) sample / CURVE_SAMPLES);
+                assertTrue("Segment " + i + " overshoots: " + y, y >= minY - DELTA && y <= maxY + DELTA);
+            }
+        }
+    }
+
+    private static void assertCurveIsNonDecreasing(float[] points, int pointsNumber, float[] controlPoints) {
+        float previousY = -Float.MAX_VALUE;
+        for (int i = 1; i < pointsNumber; ++i) {
+            for (int sample = 0; sample <= CURVE_SAMPLES; ++sample) {
+                final float y = evaluateY(points, controlPoints, i, (float) sample / CURVE_SAMPLES);
+                assertTrue("Curve decreases in segment " + i, y >= previousY - DELTA);
+                previousY = y;
+            }
+        }
+    }
+
+    /**
+     * Returns Y of cubic Bezier segment ending at point i for parameter t.
+     */
+    private static float evaluateY(float[] points, float[] controlPoints, int i, float t) {
+        final float u = 1 - t;
+        return u * u * u * points[(i - 1) * 2 + 1] + 3 * u * u * t * controlPoints[i * 4 + 1]
+                + 3 * u * t * t * controlPoints[i * 4 + 3] + t * t * t * points[i * 2 + 1];
+    }
+}
@@ -0,0 +1,184 @@
+package lecho.lib.hellocharts.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LineDecimatorTest {
+    private static final float DELTA = 0f;
+
+    @Test
+    public void keepsFirstMinMaxAndLastPointOfBucket() {
+        final float[] points = new float[]{
+                0.0f, 5f,
+                0.1f, 9f,
+                0.2f, 1f,
+                0.3f, 4f,
+                0.4f, 6f,
+                0.5f, 3f};
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, 6, 1f, out);
+
+        assertEquals(4, outNumber);
+        // Points are emitted in source order: first, max, min, last.
+        assertArrayEquals(new float[]{0.0f, 5f, 0.1f, 9f, 0.2f, 1f, 0.5f, 3f}, copyPoints(out, outNumber), DELTA);
+    }
+
+    @Test
+    public void keepsFirstAndLastPointOfFlatBucket() {
+        final float[] points = new float[]{0.0f, 5f, 0.5f, 5f, 0.9f, 5f, 1.0f, 5f};
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, 4, 1f, out);
+
+        // Bucket [0, 1) has equal Y values so only its first and last point are kept, then the next bucket.
+        assertArrayEquals(new float[]{0.0f, 5f, 0.9f, 5f, 1.0f, 5f}, copyPoints(out, outNumber), DELTA);
+    }
+
+    @Test
+    public void retainsFirstAndLastPointOfLine() {
+        final int pointsNumber = 1000;
+        final float[] points = generateSortedPoints(pointsNumber, 0.01f, new Random(1));
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, pointsNumber, 1f, out);
+
+        assertTrue(outNumber < pointsNumber);
+        assertEquals(points[0], out[0], DELTA);
+        assertEquals(points[1], out[1], DELTA);
+        assertEquals(points[pointsNumber * 2 - 2], out[outNumber * 2 - 2], DELTA);
+        assertEquals(points[pointsNumber * 2 - 1], out[outNumber * 2 - 1], DELTA);
+    }
+
+    @Test
+    public void preservesExtremesOfEveryBucket() {
+        final int pointsNumber = 10000;
+        final float bucketWidth = 1f;
+        final float[] points = generateSortedPoints(pointsNumber, 0.013f, new Random(2));
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, pointsNumber, bucketWidth, out);
+
+        final int bucketsNumber = (int) Math.floor(points[pointsNumber * 2 - 2] / bucketWidth) + 1;
+        assertTrue(outNumber <= bucketsNumber * LineDecimator.MAX_POINTS_PER_BUCKET);
+        for (int bucket = 0; bucket < bucketsNumber; ++bucket) {
+            final float[] expected = findBucketExtremes(points, pointsNumber, bucket, bucketWidth);
+            final float[] actual = findBucketExtremes(out, outNumber, bucket, bucketWidth);
+            assertArrayEquals("Bucket " + bucket, expected, actual, DELTA);
+        }
+    }
+
+    @Test
+    public void copiesPointsWhenThereAreFewerPointsThanBuckets() {
+        final float[] points = new float[]{0f, 1f, 3f, 2f, 7f, 0f, 12f, 5f, 20f, 3f};
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, 5, 1f, out);
+
+        assertEquals(5, outNumber);
+        assertArrayEquals(points, out, DELTA);
+    }
+
+    @Test
+    public void copiesShortLinesWithoutDecimation() {
+        final float[] points = new float[]{0f, 1f, 0.5f, 2f};
+        final float[] out = new float[points.length];
+
+        assertEquals(2, LineDecimator.decimate(points, 2, 1f, out));
+        assertArrayEquals(points, out, DELTA);
+    }
+
+    @Test
+    public void bucketsPointsOutsideContentRectByFloor() {
+        // Raw coordinates of line partially outside viewport are negative or beyond content width, points at -0.5
+        // and 0.5 are in different pixel columns.
+        final float[] points = new float[]{
+                -1.5f, 4f, -1.2f, 8f, -1.1f, 2f,
+                -0.5f, 3f, -0.2f, 7f,
+                0.5f, 1f, 0.7f, 9f,
+                500.2f, 6f, 500.4f, 0f, 500.9f, 5f};
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, 10, 1f, out);
+
+        assertArrayEquals(points, copyPoints(out, outNumber), DELTA);
+    }
+
+    @Test
+    public void preservesExtremesOfLinePartiallyOutsideContentRect() {
+        final int pointsNumber = 5000;
+        final float[] points = generateSortedPoints(pointsNumber, 0.1f, new Random(3));
+        // Shift line so it starts 100 pixels left of content rect.
+        for (int i = 0; i < pointsNumber; ++i) {
+            points[i * 2] -= 100f;
+        }
+        final float[] out = new float[points.length];
+
+        final int outNumber = LineDecimator.decimate(points, pointsNumber, 1f, out);
+
+        for (int bucket = -100; bucket < 400; ++bucket) {
+            final float[] expected = findBucketExtremes(points, pointsNumber, bucket, 1f);
+            final float[] actual = findBucketExtremes(out, outNumber, bucket, 1f);
+            assertArrayEquals("Bucket " + bucket, expected, actual, DELTA);
+        }
+    }
+
+    @Test
+    public void decimatesInPlace() {
+        final int pointsNumber = 2000;
+        final float[] points = generateSortedPoints(pointsNumber, 0.05f, new Random(4));
+        final float[] expected = new float[points.length];
+        final int expectedNumber = LineDecimator.decimate(points, pointsNumber, 1f, expected);
+
+        final int outNumber = LineDecimator.decimate(points, pointsNumber, 1f, points);
+
+        assertEquals(expectedNumber, outNumber);
+        assertArrayEquals(copyPoints(expected, expectedNumber), copyPoints(points, outNumber), DELTA);
+    }
+
+    private static float[] generateSortedPoints(int pointsNumber, float step, Random random) {
+        final float[] points = new float[pointsNumber * 2];
+        for (int i = 0; i < pointsNumber; ++i) {
+            points[i * 2] = i * step;
+            points[i * 2 + 1] = random.nextFloat() * 100;
+        }
+        return points;
+    }
+
+    /**
+     * Returns [firstX, firstY, minY, maxY, lastX, lastY] of given bucket or empty array if bucket has no points.
+     */
+    private static float[] findBucketExtremes(float[] points, int pointsNumber, int bucket, float bucketWidth) {
+        int first = -1;
+        int last = -1;
+        float minY = Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < pointsNumber; ++i) {
+            if ((int) Math.floor(points[i * 2] / bucketWidth) != bucket) {
+                continue;
+            }
+            if (first < 0) {
+                first = i;
+            }
+            last = i;
+            minY = Math.min(minY, points[i * 2 + 1]);
+            maxY = Math.max(maxY, points[i * 2 + 1]);
+        }
+        if (first < 0) {
+            return new float[0];
+        }
+        return new float[]{points[first * 2], points[first * 2 + 1], minY, maxY, points[last * 2],
+                points[last * 2 + 1]};
+    }
+
+    private static float[] copyPoints(float[] points, int pointsNumber) {
+        final float[] copy = new float[pointsNumber * 2];
+        System.arraycopy(points, 0, copy, 0, copy.length);
+        return copy;
+    }
+}
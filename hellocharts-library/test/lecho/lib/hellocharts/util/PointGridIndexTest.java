@@ -0,0 +1,87 @@
+package lecho.lib.hellocharts.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class PointGridIndexTest {
+    private static final float WIDTH = 1080;
+    private static final float HEIGHT = 1920;
+    private static final float CELL_SIZE = 40;
+
+    @Test
+    public void findsTheSamePointAsBruteForce() {
+        final Random random = new Random(1);
+        final int pointsNumber = 3000;
+        final float[] x = new float[pointsNumber];
+        final float[] y = new float[pointsNumber];
+        final float[] radiuses = new float[pointsNumber];
+        final PointGridIndex index = new PointGridIndex();
+        index.reset(-CELL_SIZE, -CELL_SIZE, WIDTH + CELL_SIZE, HEIGHT + CELL_SIZE, CELL_SIZE);
+        for (int i = 0; i < pointsNumber; ++i) {
+            x[i] = random.nextFloat() * WIDTH;
+            y[i] = random.nextFloat() * HEIGHT;
+            radiuses[i] = 5 + random.nextFloat() * (CELL_SIZE - 5);
+            index.add(x[i], y[i], radiuses[i], i / 100, i);
+        }
+        index.build();
+        assertEquals(pointsNumber, index.size());
+
+        for (int touch = 0; touch < 2000; ++touch) {
+            final float touchX = random.nextFloat() * WIDTH;
+            final float touchY = random.nextFloat() * HEIGHT;
+            final int expected = findNearest(x, y, radiuses, touchX, touchY);
+            final int position = index.findNearest(touchX, touchY);
+            if (expected < 0) {
+                assertEquals(-1, position);
+            } else {
+                assertEquals(expected, index.getSecondIndex(position));
+                assertEquals(expected / 100, index.getFirstIndex(position));
+            }
+        }
+    }
+
+    @Test
+    public void ignoresPointsOutsideGrid() {
+        final PointGridIndex index = new PointGridIndex();
+        index.reset(0, 0, 100, 100, 10);
+        index.add(-20, 50, 10, 0, 0);
+        index.add(50, 150, 10, 0, 1);
+        index.add(50, 50, 10, 0, 2);
+        index.build();
+
+        assertEquals(1, index.size());
+        assertEquals(-1, index.findNearest(-20, 50));
+        assertEquals(2, index.getSecondIndex(index.findNearest(52, 52)));
+    }
+
+    @Test
+    public void clearedIndexFindsNothing() {
+        final PointGridIndex index = new PointGridIndex();
+        index.reset(0, 0, 100, 100, 10);
+        index.add(50, 50, 10, 0, 0);
+        index.build();
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(-1, index.findNearest(50, 50));
+    }
+
+    private static int findNearest(float[] x, float[] y, float[] radiuses, float touchX, float touchY) {
+        int nearest = -1;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < x.length; ++i) {
+            final float diffX = touchX - x[i];
+            final float diffY = touchY - y[i];
+            final float distance = diffX * diffX + diffY * diffY;
+            if (distance <= radiuses[i] * radiuses[i] && distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+}
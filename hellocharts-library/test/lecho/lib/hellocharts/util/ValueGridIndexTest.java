@@ -0,0 +1,93 @@
+package lecho.lib.hellocharts.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ValueGridIndexTest {
+
+    @Test
+    public void findsTheSameValuesAsBruteForceInAscendingOrder() {
+        final Random random = new Random(1);
+        final int valuesCount = 5000;
+        final float[] points = new float[valuesCount * 2];
+        for (int i = 0; i < valuesCount; ++i) {
+            points[i * 2] = random.nextFloat() * 1000 - 500;
+            points[i * 2 + 1] = (float) random.nextGaussian() * 100;
+        }
+        final ValueGridIndex index = new ValueGridIndex();
+        index.build(points, valuesCount);
+        assertEquals(valuesCount, index.size());
+
+        for (int query = 0; query < 200; ++query) {
+            final float left = random.nextFloat() * 1200 - 600;
+            final float bottom = random.nextFloat() * 600 - 300;
+            // Mix of small rectangles queried by cells and big ones that are scanned.
+            final float size = query % 2 == 0 ? random.nextFloat() * 50 : random.nextFloat() * 1000;
+            assertQuery(index, points, valuesCount, left, bottom, left + size, bottom + size);
+        }
+    }
+
+    @Test
+    public void includesValuesOnRectangleEdges() {
+        final float[] points = new float[]{0, 0, 10, 10, 5, 5, 20, 20};
+        final ValueGridIndex index = new ValueGridIndex();
+        index.build(points, 4);
+
+        assertEquals(3, index.query(0, 0, 10, 10));
+        assertEquals(0, index.getResult(0));
+        assertEquals(1, index.getResult(1));
+        assertEquals(2, index.getResult(2));
+    }
+
+    @Test
+    public void handlesValuesWithEqualCoordinates() {
+        final float[] points = new float[]{3, 3, 3, 3, 3, 3};
+        final ValueGridIndex index = new ValueGridIndex();
+        index.build(points, 3);
+
+        assertEquals(3, index.query(2, 2, 4, 4));
+        assertEquals(0, index.query(4, 4, 5, 5));
+    }
+
+    @Test
+    public void rebuildReplacesValues() {
+        final ValueGridIndex index = new ValueGridIndex();
+        index.build(new float[]{0, 0, 1, 1}, 2);
+        index.build(new float[]{5, 5}, 1);
+
+        assertEquals(1, index.size());
+        assertEquals(0, index.query(-1, -1, 2, 2));
+        assertEquals(1, index.query(4, 4, 6, 6));
+    }
+
+    @Test
+    public void emptyIndexFindsNothing() {
+        final ValueGridIndex index = new ValueGridIndex();
+        index.build(new float[0], 0);
+
+        assertEquals(0, index.query(-1, -1, 1, 1));
+    }
+
+    private static void assertQuery(ValueGridIndex index, float[] points, int valuesCount, float left, float bottom,
+                                    float right, float top) {
+        final List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < valuesCount; ++i) {
+            final float x = points[i * 2];
+            final float y = points[i * 2 + 1];
+            if (x >= left && x <= right && y >= bottom && y <= top) {
+                expected.add(i);
+            }
+        }
+        final int count = index.query(left, bottom, right, top);
+        final List<Integer> actual = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; ++i) {
+            actual.add(index.getResult(i));
+        }
+        assertEquals(expected, actual);
+    }
+}